@@ -0,0 +1,31 @@
+package com.zberman2.Benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Class containing the main method which runs the benchmarks with the
+ * GC profiler attached, so that every result reports the allocation
+ * rate (gc.alloc.rate.norm is the garbage per call) next to the time
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Runs every benchmark, or those matching a pattern
+     * @param args optional regular expression selecting benchmarks,
+     *             e.g. "MasterBenchmark.isCheck"
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        String include = (args.length > 0) ? args[0] :
+                BenchmarkRunner.class.getPackage().getName() + ".*";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,95 @@
+package com.zberman2.Benchmarks;
+
+import com.zberman2.DataManager.Board;
+import com.zberman2.Pieces.Piece;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the Board lookups every move check is built on. Each
+ * benchmark sweeps every space of the board, so the score is the cost of
+ * checking one piece against the whole board.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+    @Param({Positions.OPENING, Positions.MIDDLEGAME, Positions.ENDGAME})
+    public String position;
+
+    private Board board;
+    private Piece queen; // Queen of the side to move
+
+    /**
+     * Sets up the position being measured
+     */
+    @Setup
+    public void setUp() {
+        board = Positions.create(position).getBoard();
+        queen = Positions.queen(board);
+    }
+
+    /**
+     * Looks up the piece on every space
+     * @param blackhole sink which keeps the lookups from being optimized away
+     */
+    @Benchmark
+    public void at(Blackhole blackhole) {
+        for (char file = 'a'; file < ('a' + board.getXDimension()); file++) {
+            for (int rank = 1; rank <= board.getYDimension(); rank++) {
+                blackhole.consume(board.at(file, rank));
+            }
+        }
+    }
+
+    /**
+     * Checks the Queen's diagonal path to every space on its diagonals
+     * @param blackhole sink which keeps the checks from being optimized away
+     */
+    @Benchmark
+    public void isOpenDiagonalPath(Blackhole blackhole) {
+        for (char file = 'a'; file < ('a' + board.getXDimension()); file++) {
+            for (int rank = 1; rank <= board.getYDimension(); rank++) {
+                if (queen.isDiagonalMotion(file, rank) &&
+                        !queen.isAt(file, rank)) {
+                    blackhole.consume(
+                            board.isOpenDiagonalPath(file, rank, queen));
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks the Queen's vertical path to every space on its file
+     * @param blackhole sink which keeps the checks from being optimized away
+     */
+    @Benchmark
+    public void isOpenVerticalPath(Blackhole blackhole) {
+        char file = queen.getFile();
+        for (int rank = 1; rank <= board.getYDimension(); rank++) {
+            if (rank != queen.getRank()) {
+                blackhole.consume(board.isOpenVerticalPath(file, rank, queen));
+            }
+        }
+    }
+
+    /**
+     * Checks the Queen's horizontal path to every space on its rank
+     * @param blackhole sink which keeps the checks from being optimized away
+     */
+    @Benchmark
+    public void isOpenHorizontalPath(Blackhole blackhole) {
+        int rank = queen.getRank();
+        for (char file = 'a'; file < ('a' + board.getXDimension()); file++) {
+            if (file != queen.getFile()) {
+                blackhole.consume(
+                        board.isOpenHorizontalPath(file, rank, queen));
+            }
+        }
+    }
+}
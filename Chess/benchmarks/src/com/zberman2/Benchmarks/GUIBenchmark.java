@@ -0,0 +1,67 @@
+package com.zberman2.Benchmarks;
+
+import com.zberman2.Game.GUI;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.zberman2.DataManager.Constants.*;
+
+/**
+ * Benchmark of redrawing the pieces on the GUI after a move. The Swing
+ * components are never shown, so the benchmark runs headless.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class GUIBenchmark {
+    // directory holding the GUI's images, relative to the Chess directory
+    private static final String IMAGE_DIRECTORY = "Docs";
+
+    @Param({Positions.OPENING, Positions.MIDDLEGAME, Positions.ENDGAME})
+    public String position;
+
+    private GUI gui;
+
+    /**
+     * Builds a GUI for the position being measured
+     * @throws IOException if the piece images can't be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        chessPieces = localImage(chessPieces);
+        victoryBadgeFile = localImage(victoryBadgeFile);
+        blockIFile = localImage(blockIFile);
+        blockI2File = localImage(blockI2File);
+        chiefFile = localImage(chiefFile);
+        zackFile = localImage(zackFile);
+        dukeFile = localImage(dukeFile);
+        ghostFile = localImage(ghostFile);
+        gui = new GUI(Positions.create(position).getBoard());
+    }
+
+    /**
+     * Returns an image file from the Docs directory if the configured
+     * one isn't on this machine
+     * @param image file configured in Constants
+     * @return file to read the image from
+     */
+    private static File localImage(File image) {
+        if (image.exists()) return image;
+        return new File(IMAGE_DIRECTORY, image.getName());
+    }
+
+    /**
+     * Redraws every space of the board
+     * @throws IOException if the piece images can't be read
+     */
+    @Benchmark
+    public void refreshBoard() throws IOException {
+        gui.refreshBoard();
+    }
+}
@@ -0,0 +1,117 @@
+package com.zberman2.Benchmarks;
+
+import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.Master;
+import com.zberman2.DataManager.MoveList;
+import com.zberman2.Pieces.Piece;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the rules checks in the Master class, measured for the
+ * side to move in each position
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MasterBenchmark {
+    @Param({Positions.OPENING, Positions.MIDDLEGAME, Positions.ENDGAME})
+    public String position;
+
+    private Master master;
+    private Board board;
+    private Piece queen;  // Queen of the side to move
+    private int color;    // side to move
+    private final MoveList moves = new MoveList();
+
+    /**
+     * Sets up the position being measured
+     */
+    @Setup
+    public void setUp() {
+        master = Positions.create(position);
+        board = master.getBoard();
+        queen = Positions.queen(board);
+        color = board.getSideToMove();
+    }
+
+    /**
+     * Asks if the Queen can move to each space of the board
+     * @param blackhole sink which keeps the checks from being optimized away
+     */
+    @Benchmark
+    public void canMove(Blackhole blackhole) {
+        for (char file = 'a'; file < ('a' + board.getXDimension()); file++) {
+            for (int rank = 1; rank <= board.getYDimension(); rank++) {
+                blackhole.consume(master.canMove(queen, file, rank));
+            }
+        }
+    }
+
+    /**
+     * Lists the Queen's legal moves
+     * @return list of moves
+     */
+    @Benchmark
+    public ArrayList<Integer> moveListPiece() {
+        return master.moveList(queen);
+    }
+
+    /**
+     * Lists every legal move of the side to move into a reused list
+     * @return number of moves
+     */
+    @Benchmark
+    public int moveListColor() {
+        moves.clear();
+        master.moveList(color, moves);
+        return moves.size();
+    }
+
+    /**
+     * Counts the pieces checking the side to move
+     * @return number of checks
+     */
+    @Benchmark
+    public int isCheck() {
+        return master.isCheck(color);
+    }
+
+    /**
+     * Determines if the side to move is checkmated. The status of the
+     * position is worked out every time, not taken from the result
+     * Master.gameStatus keeps for an unchanged position.
+     * @return true if it is
+     */
+    @Benchmark
+    public boolean isCheckmate() {
+        return master.computeGameStatus(color).isCheckmate();
+    }
+
+    /**
+     * Determines if the side to move is stalemated, working the status
+     * out every time (see isCheckmate)
+     * @return true if it is
+     */
+    @Benchmark
+    public boolean isStalemate() {
+        return master.computeGameStatus(color).isStalemate();
+    }
+
+    /**
+     * Determines if the side to move is checkmated when the position
+     * hasn't changed since the last time, so the status Master keeps
+     * is returned
+     * @return true if it is
+     */
+    @Benchmark
+    public boolean isCheckmateCached() {
+        return master.isCheckmate(color);
+    }
+}
@@ -0,0 +1,78 @@
+package com.zberman2.Benchmarks;
+
+import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.Master;
+import com.zberman2.DataManager.StandardBoard;
+import com.zberman2.Pieces.*;
+
+import java.util.ArrayList;
+
+import static com.zberman2.DataManager.Constants.*;
+
+/**
+ * Class which sets up the positions the benchmarks run on, so that every
+ * benchmark measures the same opening, middlegame and endgame
+ */
+public final class Positions {
+    public static final String OPENING = "opening";
+    public static final String MIDDLEGAME = "middlegame";
+    public static final String ENDGAME = "endgame";
+
+    // moves played from the standard setup to reach the middlegame
+    private static final String[] MIDDLEGAME_MOVES = {
+            "e2", "e4", "e7", "e5", "g1", "f3", "b8", "c6",
+            "f1", "c4", "g8", "f6", "d2", "d3", "f8", "c5",
+            "b1", "c3", "d7", "d6", "c1", "g5", "h7", "h6",
+            "g5", "f6", "d8", "f6", "c3", "d5", "f6", "d8"};
+
+    /**
+     * Sets up one of the positions
+     * @param name OPENING, MIDDLEGAME or ENDGAME
+     * @return master controlling a board with the position, with
+     *         White to move
+     */
+    public static Master create(String name) {
+        if (name.equals(OPENING)) {
+            return new Master(true);
+        } else if (name.equals(MIDDLEGAME)) {
+            Master master = new Master(true);
+            for (int i = 0; i < MIDDLEGAME_MOVES.length; i += 2) {
+                Piece piece = master.findPiece(MIDDLEGAME_MOVES[i]);
+                if (!master.canMove(piece, MIDDLEGAME_MOVES[i + 1])) {
+                    throw new IllegalStateException("illegal move " +
+                            MIDDLEGAME_MOVES[i] + MIDDLEGAME_MOVES[i + 1]);
+                }
+                master.move(piece, MIDDLEGAME_MOVES[i + 1]);
+            }
+            return master;
+        } else if (name.equals(ENDGAME)) {
+            ArrayList<Piece> pieces = new ArrayList<Piece>();
+            pieces.add(new King(WHITE, 'g', 2));
+            pieces.add(new Queen(WHITE, 'd', 4));
+            pieces.add(new Rook(WHITE, 'a', 1));
+            pieces.add(new Pawn(WHITE, 'f', 2));
+            pieces.add(new Pawn(WHITE, 'g', 3));
+            pieces.add(new King(BLACK, 'h', 7));
+            pieces.add(new Rook(BLACK, 'e', 8));
+            pieces.add(new Pawn(BLACK, 'g', 6));
+            pieces.add(new Pawn(BLACK, 'h', 6));
+            return new Master(new StandardBoard(pieces));
+        }
+        throw new IllegalArgumentException("unknown position " + name);
+    }
+
+    /**
+     * Returns the Queen of the side to move, which every position has
+     * @param board board holding one of the positions
+     * @return the Queen
+     */
+    public static Piece queen(Board board) {
+        return board.getPiece(board.getSideToMove(), QUEEN_TYPE_INDEX, 0);
+    }
+
+    private Positions() {
+        // this prevents even the native class from calling
+        // this constructor
+        throw new AssertionError();
+    }
+}
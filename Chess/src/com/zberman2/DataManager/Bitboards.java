@@ -0,0 +1,401 @@
+package com.zberman2.DataManager;
+
+import java.util.HashMap;
+
+import static com.zberman2.DataManager.Constants.BLACK;
+import static com.zberman2.DataManager.Constants.WHITE;
+
+/**
+ * Class containing the precomputed bitboard tables for a board of a
+ * particular size. A bitboard is a long in which bit i is set when
+ * space i is occupied, where space i is located at file
+ * ('a' + i % xDimension) and rank (1 + i / xDimension).
+ * Since a long only has 64 bits, these tables only exist for boards
+ * with at most 64 spaces. Boards of the same size share one instance.
+ *
+ * Attacks of the sliding pieces (Rook, Bishop, Queen) are found with
+ * magic bitboards: the blockers on a piece's rays are multiplied by a
+ * magic number so that the top bits of the product index a table of
+ * precomputed attack sets. The magic numbers are found by a seeded
+ * random search when the tables are built, so any board size works.
+ */
+public final class Bitboards {
+    public static final int MAX_SPACES = 64;
+    // seeds for the magic number search, one per rank, which are known
+    // to find the magic numbers of an 8x8 board quickly
+    private static final long[] MAGIC_SEEDS =
+            {728, 10316, 55013, 32803, 12281, 15100, 16645, 255};
+
+    // directions (x, y) of the sliding pieces and the leaping pieces
+    private static final int[][] ROOK_DIRECTIONS =
+            {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS =
+            {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] KNIGHT_JUMPS = {{1, 2}, {2, 1}, {2, -1},
+            {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+    private static final int[][] KING_STEPS = {{1, 0}, {1, 1}, {0, 1},
+            {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}};
+    private static final int[][] DUKE_JUMPS = {{2, 0}, {2, 2}, {0, 2},
+            {-2, 2}, {-2, 0}, {-2, -2}, {0, -2}, {2, -2}};
+
+    // tables which have already been computed, keyed by board dimensions
+    private static final HashMap<Integer, Bitboards> tables =
+            new HashMap<Integer, Bitboards>();
+
+    private final int xDimension;
+    private final int yDimension;
+    // between[a][b] holds the spaces strictly between a and b when they
+    // share a rank, file or diagonal (0 otherwise)
+    private final long[][] between;
+
+    // attacks of the leaping pieces from each space
+    private final long[] knightAttacks;
+    private final long[] kingAttacks;
+    private final long[] dukeAttacks;   // shared by the Duke and the Ghost
+    private final long[][] pawnAttacks; // [color][space]
+    // every space on a rank, file or diagonal with each space (the Zack
+    // jumps over pieces, so these are also its attacks)
+    private final long[] lineAttacks;
+
+    // magic bitboard tables for the sliding pieces
+    private final long[] rookMasks;
+    private final long[] rookMagics;
+    private final int[] rookShifts;
+    private final long[][] rookTable;
+    private final long[] bishopMasks;
+    private final long[] bishopMagics;
+    private final int[] bishopShifts;
+    private final long[][] bishopTable;
+
+    /**
+     * Returns the tables for a board of the given size
+     * @param xDimension spaces in the x direction
+     * @param yDimension spaces in the y direction
+     * @return tables for the board, or null if the board has more
+     *         spaces than fit in a bitboard
+     */
+    public static synchronized Bitboards forDimensions(int xDimension,
+                                                       int yDimension) {
+        if (xDimension * yDimension > MAX_SPACES) { return null; }
+        Integer key = (xDimension << 16) | yDimension;
+        Bitboards bitboards = tables.get(key);
+        if (bitboards == null) {
+            bitboards = new Bitboards(xDimension, yDimension);
+            tables.put(key, bitboards);
+        }
+        return bitboards;
+    }
+
+    /**
+     * Constructor which computes the tables for a board of the given size
+     * @param xDimension spaces in the x direction
+     * @param yDimension spaces in the y direction
+     */
+    private Bitboards(int xDimension, int yDimension) {
+        this.xDimension = xDimension;
+        this.yDimension = yDimension;
+        int spaces = xDimension * yDimension;
+        between = new long[spaces][spaces];
+        for (int start = 0; start < spaces; start++) {
+            initializeBetween(start);
+        }
+
+        knightAttacks = new long[spaces];
+        kingAttacks = new long[spaces];
+        dukeAttacks = new long[spaces];
+        pawnAttacks = new long[2][spaces];
+        lineAttacks = new long[spaces];
+        int[][] whitePawnCaptures = {{1, 1}, {-1, 1}};
+        int[][] blackPawnCaptures = {{1, -1}, {-1, -1}};
+        for (int start = 0; start < spaces; start++) {
+            knightAttacks[start] = leaperAttacks(start, KNIGHT_JUMPS);
+            kingAttacks[start] = leaperAttacks(start, KING_STEPS);
+            dukeAttacks[start] = leaperAttacks(start, DUKE_JUMPS);
+            pawnAttacks[WHITE][start] = leaperAttacks(start, whitePawnCaptures);
+            pawnAttacks[BLACK][start] = leaperAttacks(start, blackPawnCaptures);
+            lineAttacks[start] = slidingAttacks(start, 0, ROOK_DIRECTIONS) |
+                    slidingAttacks(start, 0, BISHOP_DIRECTIONS);
+        }
+
+        rookMasks = new long[spaces];
+        rookMagics = new long[spaces];
+        rookShifts = new int[spaces];
+        rookTable = new long[spaces][];
+        bishopMasks = new long[spaces];
+        bishopMagics = new long[spaces];
+        bishopShifts = new int[spaces];
+        bishopTable = new long[spaces][];
+        for (int start = 0; start < spaces; start++) {
+            rookMasks[start] = relevantBlockers(start, ROOK_DIRECTIONS);
+            rookShifts[start] = 64 - Long.bitCount(rookMasks[start]);
+            rookTable[start] = new long[1 << Long.bitCount(rookMasks[start])];
+            long[] seed = {MAGIC_SEEDS[(start / xDimension) % MAGIC_SEEDS.length]};
+            rookMagics[start] = findMagic(start, rookMasks[start],
+                    rookShifts[start], rookTable[start], ROOK_DIRECTIONS, seed);
+
+            bishopMasks[start] = relevantBlockers(start, BISHOP_DIRECTIONS);
+            bishopShifts[start] = 64 - Long.bitCount(bishopMasks[start]);
+            bishopTable[start] = new long[1 << Long.bitCount(bishopMasks[start])];
+            seed[0] = MAGIC_SEEDS[(start / xDimension) % MAGIC_SEEDS.length];
+            bishopMagics[start] = findMagic(start, bishopMasks[start],
+                    bishopShifts[start], bishopTable[start], BISHOP_DIRECTIONS,
+                    seed);
+        }
+    }
+
+    /**
+     * Collects the spaces a leaping piece on a space can reach
+     * @param start index of the starting space
+     * @param jumps (x, y) offsets of the piece's jumps
+     * @return bitboard of the spaces reached
+     */
+    private long leaperAttacks(int start, int[][] jumps) {
+        long attacks = 0;
+        for (int[] jump : jumps) {
+            int x = start % xDimension + jump[0];
+            int y = start / xDimension + jump[1];
+            if (x >= 0 && x < xDimension && y >= 0 && y < yDimension) {
+                attacks |= bit(y * xDimension + x);
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Walks the rays of a sliding piece square by square, stopping at
+     * (and including) the first blocker in each direction
+     * @param start index of the starting space
+     * @param blockers bitboard of the occupied spaces
+     * @param directions (x, y) directions of the piece's rays
+     * @return bitboard of the spaces attacked
+     */
+    private long slidingAttacks(int start, long blockers, int[][] directions) {
+        long attacks = 0;
+        for (int[] direction : directions) {
+            int x = start % xDimension + direction[0];
+            int y = start / xDimension + direction[1];
+            while (x >= 0 && x < xDimension && y >= 0 && y < yDimension) {
+                long bit = bit(y * xDimension + x);
+                attacks |= bit;
+                if ((blockers & bit) != 0) break;
+                x += direction[0];
+                y += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Collects the spaces whose occupancy can change the attacks of a
+     * sliding piece: every space on its rays except the last one on
+     * the board in each direction
+     * @param start index of the starting space
+     * @param directions (x, y) directions of the piece's rays
+     * @return bitboard of the relevant blockers
+     */
+    private long relevantBlockers(int start, int[][] directions) {
+        long mask = 0;
+        for (int[] direction : directions) {
+            int x = start % xDimension + direction[0];
+            int y = start / xDimension + direction[1];
+            while (x + direction[0] >= 0 && x + direction[0] < xDimension &&
+                    y + direction[1] >= 0 && y + direction[1] < yDimension) {
+                mask |= bit(y * xDimension + x);
+                x += direction[0];
+                y += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Searches for a magic number which maps every arrangement of
+     * blockers on a space's rays to a table entry without two different
+     * attack sets colliding, and fills in the table with it
+     * @param start index of the starting space
+     * @param mask relevant blockers of the space
+     * @param shift 64 minus the number of relevant blockers
+     * @param table attack table for the space, filled in by this method
+     * @param directions (x, y) directions of the piece's rays
+     * @param seed state of the random number generator
+     * @return the magic number
+     */
+    private long findMagic(int start, long mask, int shift, long[] table,
+                           int[][] directions, long[] seed) {
+        // enumerate every subset of the mask, and its attack set
+        int size = table.length;
+        long[] blockers = new long[size];
+        long[] attacks = new long[size];
+        long subset = 0;
+        for (int i = 0; i < size; i++) {
+            blockers[i] = subset;
+            attacks[i] = slidingAttacks(start, subset, directions);
+            subset = (subset - mask) & mask;
+        }
+
+        // used[index] holds the attempt which last filled table[index],
+        // so the table does not need to be cleared between attempts
+        int[] used = new int[size];
+        int attempt = 0;
+        while (true) {
+            // magic numbers with few bits set work best
+            long magic = nextRandom(seed) & nextRandom(seed) & nextRandom(seed);
+            // skip candidates which leave the top of the product sparse
+            if (Long.bitCount(mask) >= 8 &&
+                    Long.bitCount((mask * magic) >>> 56) < 6) continue;
+            attempt++;
+            boolean collision = false;
+            for (int i = 0; i < size && !collision; i++) {
+                int index = (int) ((blockers[i] * magic) >>> shift);
+                if (used[index] != attempt) {
+                    used[index] = attempt;
+                    table[index] = attacks[i];
+                } else if (table[index] != attacks[i]) {
+                    collision = true;
+                }
+            }
+            if (!collision) return magic;
+        }
+    }
+
+    /**
+     * Walks outward from a space in all 8 directions, recording
+     * the spaces passed over on the way to every other space
+     * @param start index of the starting space
+     */
+    private void initializeBetween(int start) {
+        int[][] directions = {{1, 0}, {-1, 0}, {0, 1}, {0, -1},
+                {1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+        for (int[] direction : directions) {
+            long path = 0;
+            int x = start % xDimension + direction[0];
+            int y = start / xDimension + direction[1];
+            while (x >= 0 && x < xDimension && y >= 0 && y < yDimension) {
+                int end = y * xDimension + x;
+                between[start][end] = path;
+                path |= bit(end);
+                x += direction[0];
+                y += direction[1];
+            }
+        }
+    }
+
+    /**
+     * Returns the bitboard with only a single space set
+     * @param index index of the space
+     * @return bitboard containing the space
+     */
+    public static long bit(int index) { return 1L << index; }
+
+    /**
+     * Returns the spaces strictly between two spaces which share a
+     * rank, file or diagonal
+     * @param start index of the first space
+     * @param end index of the second space
+     * @return bitboard of the spaces in between (0 if the spaces
+     *         are adjacent or not in line)
+     */
+    public long between(int start, int end) { return between[start][end]; }
+
+    /**
+     * Xorshift random number generator used to search for magic numbers
+     * (its output is far better spread over all 64 bits than that of
+     * java.util.Random, which makes the search much shorter)
+     * @param seed state of the generator, advanced by this method
+     * @return the next random number
+     */
+    private static long nextRandom(long[] seed) {
+        seed[0] ^= seed[0] >>> 12;
+        seed[0] ^= seed[0] << 25;
+        seed[0] ^= seed[0] >>> 27;
+        return seed[0] * 2685821657736338717L;
+    }
+
+    /**
+     * Returns the spaces attacked by a Rook, stopping at the first
+     * piece in each direction
+     * @param index index of the Rook's space
+     * @param occupied bitboard of the occupied spaces
+     * @return bitboard of the spaces attacked
+     */
+    public long rookAttacks(int index, long occupied) {
+        long blockers = occupied & rookMasks[index];
+        return rookTable[index][(int) ((blockers * rookMagics[index])
+                >>> rookShifts[index])];
+    }
+
+    /**
+     * Returns the spaces attacked by a Bishop, stopping at the first
+     * piece in each direction
+     * @param index index of the Bishop's space
+     * @param occupied bitboard of the occupied spaces
+     * @return bitboard of the spaces attacked
+     */
+    public long bishopAttacks(int index, long occupied) {
+        long blockers = occupied & bishopMasks[index];
+        return bishopTable[index][(int) ((blockers * bishopMagics[index])
+                >>> bishopShifts[index])];
+    }
+
+    /**
+     * Returns the spaces attacked by a Queen, stopping at the first
+     * piece in each direction
+     * @param index index of the Queen's space
+     * @param occupied bitboard of the occupied spaces
+     * @return bitboard of the spaces attacked
+     */
+    public long queenAttacks(int index, long occupied) {
+        return rookAttacks(index, occupied) | bishopAttacks(index, occupied);
+    }
+
+    /**
+     * Returns the spaces a Knight attacks
+     * @param index index of the Knight's space
+     * @return bitboard of the spaces attacked
+     */
+    public long knightAttacks(int index) { return knightAttacks[index]; }
+
+    /**
+     * Returns the spaces a King attacks
+     * @param index index of the King's space
+     * @return bitboard of the spaces attacked
+     */
+    public long kingAttacks(int index) { return kingAttacks[index]; }
+
+    /**
+     * Returns the spaces a Duke or a Ghost attacks
+     * @param index index of the piece's space
+     * @return bitboard of the spaces attacked
+     */
+    public long dukeAttacks(int index) { return dukeAttacks[index]; }
+
+    /**
+     * Returns the spaces a Pawn attacks (diagonally forward)
+     * @param color color of the Pawn
+     * @param index index of the Pawn's space
+     * @return bitboard of the spaces attacked
+     */
+    public long pawnAttacks(int color, int index) {
+        return pawnAttacks[color][index];
+    }
+
+    /**
+     * Returns every space on a rank, file or diagonal with a space,
+     * which are the spaces a Zack attacks since it jumps over pieces
+     * @param index index of the space
+     * @return bitboard of the spaces in line
+     */
+    public long lineAttacks(int index) { return lineAttacks[index]; }
+
+    /**
+     * Getter for the x dimension of the board these tables describe
+     * @return xDimension
+     */
+    public int getXDimension() { return xDimension; }
+
+    /**
+     * Getter for the y dimension of the board these tables describe
+     * @return yDimension
+     */
+    public int getYDimension() { return yDimension; }
+}
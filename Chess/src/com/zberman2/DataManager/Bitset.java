@@ -0,0 +1,103 @@
+package com.zberman2.DataManager;
+
+/**
+ * Class containing operations on multi-word bitsets, which extend the
+ * bitboards of the Bitboards class to boards with more than 64 spaces.
+ * A bitset is a long[] in which bit (i % 64) of word (i / 64) is set when
+ * space i is in the set, using the same space indexes as the bitboards.
+ * The operations work on arrays the caller owns, so nothing is allocated
+ * once the sets are made.
+ */
+public final class Bitset {
+    private static final int WORD_BITS = 64;
+
+    /**
+     * Constructor, never used since this class only holds static methods
+     */
+    private Bitset() {}
+
+    /**
+     * Creates an empty bitset large enough for a board
+     * @param spaces number of spaces on the board
+     * @return bitset with no spaces set
+     */
+    public static long[] create(int spaces) {
+        return new long[(spaces + WORD_BITS - 1) / WORD_BITS];
+    }
+
+    /**
+     * Adds a space to a bitset
+     * @param bits bitset
+     * @param index index of the space
+     */
+    public static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Removes a space from a bitset
+     * @param bits bitset
+     * @param index index of the space
+     */
+    public static void clear(long[] bits, int index) {
+        bits[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * Determines if a space is in a bitset
+     * @param bits bitset
+     * @param index index of the space
+     * @return true if the space is set
+     */
+    public static boolean get(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Counts the spaces in both of two bitsets, without building
+     * their intersection
+     * @param a first bitset
+     * @param b second bitset of the same size
+     * @return number of spaces set in both
+     */
+    public static int countBoth(long[] a, long[] b) {
+        int count = 0;
+        for (int word = 0; word < a.length; word++) {
+            count += Long.bitCount(a[word] & b[word]);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the lowest space in both of two bitsets
+     * @param a first bitset
+     * @param b second bitset of the same size
+     * @return index of the space, -1 if the bitsets have none in common
+     */
+    public static int firstOfBoth(long[] a, long[] b) {
+        for (int word = 0; word < a.length; word++) {
+            long both = a[word] & b[word];
+            if (both != 0) {
+                return word * WORD_BITS + Long.numberOfTrailingZeros(both);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the highest space in both of two bitsets
+     * @param a first bitset
+     * @param b second bitset of the same size
+     * @return index of the space, -1 if the bitsets have none in common
+     */
+    public static int lastOfBoth(long[] a, long[] b) {
+        for (int word = a.length - 1; word >= 0; word--) {
+            long both = a[word] & b[word];
+            if (both != 0) {
+                return word * WORD_BITS + WORD_BITS - 1 -
+                        Long.numberOfLeadingZeros(both);
+            }
+        }
+        return -1;
+    }
+}
@@ -2,9 +2,12 @@ package com.zberman2.DataManager;
 
 import com.zberman2.Game.TerminalWindowGUI;
 import com.zberman2.Pieces.Piece;
-import javafx.util.Pair;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+
+import static com.zberman2.DataManager.Bitboards.bit;
+import static com.zberman2.DataManager.Constants.*;
 
 /**
  * Class describing the functionality of a chess board
@@ -16,13 +19,52 @@ public class Board {
     private int numSides;   // defines the shape of the board
     private ArrayList<Piece> pieces; // list of chess pieces on the board
 
+    private Piece[] spaces;          // uncaptured piece on each space
+
+    // uncaptured pieces of each color and type, so that only live pieces
+    // are visited when looking for moves or checks
+    private Piece[][][] pieceLists;  // [color][type index][list index]
+    private int[][] pieceCounts;     // [color][type index]
+    private int[] kingIndexes;       // space of each color's King (-1 if none)
+
+    // bitboard representation of the pieces (see the Bitboards class)
+    private Bitboards bitboards;     // null if the board is too large
+    private long[] colorBitboards;   // spaces occupied by each color
+    private long[][] pieceBitboards; // spaces occupied by each color and type
+
+    // number of pieces of each color attacking each space, kept up to
+    // date as pieces come and go (only when bitboards are available)
+    private int[][] attackCounts;    // [color][space index]
+    private long[] attackedBitboards; // spaces attacked by each color
+
+    // multi-word bitsets for boards too large for bitboards (see the
+    // WideBitboards class), null unless the board has more than 64 spaces
+    private WideBitboards wideBitboards;
+    private long[] occupiedBitset;   // spaces occupied by either color
+    private long[][][] pieceBitsets; // [color][type index] occupied spaces
+
+    private int sideToMove = WHITE;  // color whose turn it is
+    private Zobrist zobrist;         // keys used to hash the position
+    private long hash;               // hash of the current position
+
+    // worth of each color's pieces where they stand (see the
+    // PieceSquareTable class), kept up to date like the hash
+    private PieceSquareTable pieceSquareTable; // null until one is set
+    private int[] scores;            // [color]
+
     /**
      * Blank constructor
+     *
+     * @throws IllegalArgumentException if either dimension is larger
+     *         than Square.MAX_DIMENSION, or the board has more than
+     *         Moves.MAX_SPACES spaces
      */
     public Board(int xDimension, int yDimension, int numSides) {
+        checkDimensions(xDimension, yDimension);
         this.xDimension = xDimension;
         this.yDimension = yDimension;
         this.numSides = numSides;
+        initializeSpaces();
     }
 
     /**
@@ -30,13 +72,41 @@ public class Board {
      *
      * @param pieces ArrayList of initial chess pieces to be
      *               placed on the board
+     * @throws IllegalArgumentException if either dimension is larger
+     *         than Square.MAX_DIMENSION, or the board has more than
+     *         Moves.MAX_SPACES spaces
      */
     public Board(ArrayList<Piece> pieces,
                  int xDimension, int yDimension, int numSides) {
-        this.pieces = pieces;
+        checkDimensions(xDimension, yDimension);
         this.xDimension = xDimension;
         this.yDimension = yDimension;
         this.numSides = numSides;
+        setPieces(pieces);
+    }
+
+    /**
+     * Makes sure every space of a board of the given dimensions can be
+     * packed into a Square, which only has room for MAX_DIMENSION files
+     * and ranks, and into a packed move, which only has room for
+     * Moves.MAX_SPACES space indexes
+     *
+     * @param xDimension number of files
+     * @param yDimension number of ranks
+     * @throws IllegalArgumentException if the board is too large
+     */
+    private static void checkDimensions(int xDimension, int yDimension) {
+        if (xDimension > Square.MAX_DIMENSION ||
+                yDimension > Square.MAX_DIMENSION) {
+            throw new IllegalArgumentException("Boards can be at most " +
+                    Square.MAX_DIMENSION + " spaces on a side, not " +
+                    xDimension + "x" + yDimension);
+        }
+        if (xDimension * yDimension > Moves.MAX_SPACES) {
+            throw new IllegalArgumentException("Boards can have at most " +
+                    Moves.MAX_SPACES + " spaces, not " +
+                    xDimension * yDimension);
+        }
     }
 
     /**
@@ -49,6 +119,64 @@ public class Board {
      */
     public void setPieces(ArrayList<Piece> pieces) {
         this.pieces = pieces;
+        initializeSpaces();
+        for (Piece piece : pieces) {
+            // pieces report their moves and captures back to the board
+            piece.setBoard(this);
+            piece.setListIndex(-1);
+            if (!piece.isCaptured()) { addToList(piece); }
+            place(piece);
+        }
+    }
+
+    /**
+     * Returns a copy of the board with a copy of every piece, which can
+     * be changed (e.g. searched on another thread) without affecting
+     * this board
+     *
+     * @return independent copy of the board
+     */
+    public Board copy() {
+        ArrayList<Piece> copies = new ArrayList<Piece>();
+        for (Piece piece : pieces) {
+            copies.add(piece.copy());
+        }
+        Board copy = new Board(xDimension, yDimension, numSides);
+        copy.sideToMove = sideToMove;
+        copy.pieceSquareTable = pieceSquareTable;
+        copy.setPieces(copies);
+        return copy;
+    }
+
+    /**
+     * Clears the array of spaces and the bitboards, and looks up the
+     * precomputed bitboard tables for a board of this size
+     */
+    private void initializeSpaces() {
+        spaces = new Piece[xDimension * yDimension];
+        int capacity = (pieces == null) ? 1 : Math.max(1, pieces.size());
+        pieceLists = new Piece[2][NUMBER_OF_PIECE_TYPES][capacity];
+        pieceCounts = new int[2][NUMBER_OF_PIECE_TYPES];
+        kingIndexes = new int[] {-1, -1};
+        bitboards = Bitboards.forDimensions(xDimension, yDimension);
+        colorBitboards = new long[2];
+        pieceBitboards = new long[2][NUMBER_OF_PIECE_TYPES];
+        attackCounts = new int[2][xDimension * yDimension];
+        attackedBitboards = new long[2];
+        wideBitboards = WideBitboards.forDimensions(xDimension, yDimension);
+        if (wideBitboards != null) {
+            occupiedBitset = Bitset.create(xDimension * yDimension);
+            pieceBitsets = new long[2][NUMBER_OF_PIECE_TYPES][];
+            for (int color = BLACK; color <= WHITE; color++) {
+                for (int type = 0; type < NUMBER_OF_PIECE_TYPES; type++) {
+                    pieceBitsets[color][type] =
+                            Bitset.create(xDimension * yDimension);
+                }
+            }
+        }
+        zobrist = Zobrist.forSpaces(xDimension * yDimension);
+        hash = (sideToMove == BLACK) ? zobrist.sideKey() : 0;
+        scores = new int[2];
     }
 
     /**
@@ -90,8 +218,570 @@ public class Board {
     }
 
     /**
-     * Method which iterates through the list of pieces and
-     * determines if there is a piece at (x, y) on the board.
+     * Getter for the precomputed bitboard tables of this board
+     *
+     * @return bitboard tables, or null if the board has too many
+     *         spaces to be represented by bitboards
+     */
+    public Bitboards getBitboards() { return bitboards; }
+
+    /**
+     * Getter for the multi-word attack tables of the board
+     *
+     * @return tables, or null if the board has at most 64 spaces
+     *         (and uses the ordinary bitboards instead)
+     */
+    public WideBitboards getWideBitboards() { return wideBitboards; }
+
+    /**
+     * Returns the index of (file, rank) in the board's array of spaces
+     * (which is also its bit in the bitboards)
+     *
+     * @param file file coordinate
+     * @param rank rank coordinate
+     * @return index of the space, or -1 if it is not on the board
+     */
+    public int index(char file, int rank) {
+        int x = file - 'a';
+        int y = rank - 1;
+        if (x < 0 || x >= xDimension || y < 0 || y >= yDimension) return -1;
+        return y * xDimension + x;
+    }
+
+    /**
+     * Returns the file coordinate of a space given its index
+     *
+     * @param index index of the space
+     * @return file coordinate
+     */
+    public char fileOf(int index) { return (char) ('a' + index % xDimension); }
+
+    /**
+     * Returns the rank coordinate of a space given its index
+     *
+     * @param index index of the space
+     * @return rank coordinate
+     */
+    public int rankOf(int index) { return index / xDimension + 1; }
+
+    /**
+     * Returns the spaces occupied by uncaptured pieces
+     *
+     * @return occupancy bitboard
+     */
+    public long getOccupied() {
+        return colorBitboards[0] | colorBitboards[1];
+    }
+
+    /**
+     * Returns the spaces occupied by uncaptured pieces of one color
+     *
+     * @param color white or black
+     * @return occupancy bitboard for that color
+     */
+    public long getColorBitboard(int color) { return colorBitboards[color]; }
+
+    /**
+     * Returns the spaces occupied by uncaptured pieces of one color
+     * and type
+     *
+     * @param color white or black
+     * @param typeIndex type of piece (see Constants for possible values)
+     * @return occupancy bitboard for that color and type
+     */
+    public long getPieceBitboard(int color, int typeIndex) {
+        return pieceBitboards[color][typeIndex];
+    }
+
+    /**
+     * Getter for the color whose turn it is
+     *
+     * @return WHITE or BLACK
+     */
+    public int getSideToMove() { return sideToMove; }
+
+    /**
+     * Setter for the color whose turn it is. Used when setting up
+     * a position where Black moves first.
+     *
+     * @param color WHITE or BLACK
+     */
+    public void setSideToMove(int color) {
+        if (color != sideToMove) { switchSides(); }
+    }
+
+    /**
+     * Passes the turn to the other color. Called by Master.move
+     * after a move is made, and by Move.undo after it is reverted.
+     */
+    public void switchSides() {
+        sideToMove = 1 - sideToMove;
+        hash ^= zobrist.sideKey();
+    }
+
+    /**
+     * Getter for the hash of the current position, which covers
+     * every uncaptured piece's color, type and space, and the side to
+     * move. It is kept up to date as pieces move and are captured.
+     *
+     * @return 64 bit position hash
+     */
+    public long getHash() { return hash; }
+
+    /**
+     * Computes the hash of the current position from scratch
+     * (used to verify the incrementally updated hash)
+     *
+     * @return 64 bit position hash
+     */
+    public long computeHash() {
+        long fullHash = (sideToMove == BLACK) ? zobrist.sideKey() : 0;
+        for (int index = 0; index < spaces.length; index++) {
+            Piece piece = spaces[index];
+            if (piece != null) {
+                fullHash ^= zobrist.pieceKey(piece.getColor(),
+                        piece.typeIndex(), index);
+            }
+        }
+        return fullHash;
+    }
+
+    /**
+     * Setter for the table the pieces' worth is looked up in. The worth
+     * of each color is worked out from scratch, and from then on kept up
+     * to date as pieces move and are captured.
+     *
+     * @param table table for a board of this board's dimensions
+     */
+    public void setPieceSquareTable(PieceSquareTable table) {
+        this.pieceSquareTable = table;
+        scores[BLACK] = computeScore(BLACK);
+        scores[WHITE] = computeScore(WHITE);
+    }
+
+    /**
+     * Getter for the table the pieces' worth is looked up in
+     *
+     * @return table, null if none was set
+     */
+    public PieceSquareTable getPieceSquareTable() { return pieceSquareTable; }
+
+    /**
+     * Getter for the worth of one color's uncaptured pieces where they
+     * stand. It is kept up to date as pieces move and are captured.
+     *
+     * @param color white or black
+     * @return sum of the pieces' entries in the table, 0 if no table
+     *         was set
+     */
+    public int getScore(int color) { return scores[color]; }
+
+    /**
+     * Computes the worth of one color's uncaptured pieces from scratch
+     * (used to verify the incrementally updated score)
+     *
+     * @param color white or black
+     * @return sum of the pieces' entries in the table, 0 if no table
+     *         was set
+     */
+    public int computeScore(int color) {
+        if (pieceSquareTable == null) return 0;
+        int score = 0;
+        for (int index = 0; index < spaces.length; index++) {
+            Piece piece = spaces[index];
+            if (piece != null && piece.getColor() == color) {
+                score += pieceSquareTable.score(color, piece.typeIndex(), index);
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Returns the number of uncaptured pieces of one color and type
+     *
+     * @param color white or black
+     * @param typeIndex type of piece (see Constants for possible values)
+     * @return number of live pieces
+     */
+    public int pieceCount(int color, int typeIndex) {
+        return pieceCounts[color][typeIndex];
+    }
+
+    /**
+     * Returns one of the uncaptured pieces of a color and type
+     *
+     * @param color white or black
+     * @param typeIndex type of piece (see Constants for possible values)
+     * @param i position in the list, less than pieceCount(color, typeIndex)
+     * @return live piece
+     */
+    public Piece getPiece(int color, int typeIndex, int i) {
+        return pieceLists[color][typeIndex][i];
+    }
+
+    /**
+     * Returns the King of one color
+     *
+     * @param color white or black
+     * @return the King, or null if the color has none on the board
+     */
+    public Piece getKing(int color) {
+        if (pieceCounts[color][KING_TYPE_INDEX] == 0) return null;
+        return pieceLists[color][KING_TYPE_INDEX][0];
+    }
+
+    /**
+     * Returns the space of one color's King, which is cached as the
+     * King moves
+     *
+     * @param color white or black
+     * @return index of the King's space, or -1 if the color has none
+     */
+    public int getKingIndex(int color) { return kingIndexes[color]; }
+
+    /**
+     * Takes a captured piece off of its space and out of the list of
+     * live pieces. Called by a piece when it is captured.
+     *
+     * @param piece piece being captured
+     */
+    public void capture(Piece piece) {
+        if (piece.isCaptured()) return;
+        lift(piece);
+        removeFromList(piece);
+    }
+
+    /**
+     * Puts a piece whose capture is being reverted back into the list
+     * of live pieces and onto its space. Called by a piece when its
+     * capture is reverted.
+     *
+     * @param piece piece being restored
+     */
+    public void restore(Piece piece) {
+        addToList(piece);
+        place(piece);
+    }
+
+    /**
+     * Removes a piece from the list of live pieces in constant time, by
+     * moving the last piece of the list into its place
+     *
+     * @param piece live piece
+     */
+    private void removeFromList(Piece piece) {
+        int color = piece.getColor();
+        int type = piece.typeIndex();
+        Piece[] list = pieceLists[color][type];
+        int i = piece.getListIndex();
+        if (i < 0 || i >= pieceCounts[color][type] || list[i] != piece) return;
+        int last = --pieceCounts[color][type];
+        list[i] = list[last];
+        list[i].setListIndex(i);
+        list[last] = null;
+        if (type == KING_TYPE_INDEX) {
+            kingIndexes[color] = (last == 0) ? -1 :
+                    index(list[0].getFile(), list[0].getRank());
+        }
+    }
+
+    /**
+     * Adds a piece to the list of live pieces in constant time. A piece
+     * which was removed goes back to its old position (and the piece
+     * that took that position goes back to the end), so that undoing
+     * captures in reverse order leaves every list exactly as it was.
+     *
+     * @param piece piece to list
+     */
+    private void addToList(Piece piece) {
+        int color = piece.getColor();
+        int type = piece.typeIndex();
+        int count = pieceCounts[color][type];
+        if (count == pieceLists[color][type].length) {
+            pieceLists[color][type] = Arrays.copyOf(pieceLists[color][type],
+                    count * 2);
+        }
+        Piece[] list = pieceLists[color][type];
+        int i = piece.getListIndex();
+        if (i < 0 || i > count) { i = count; }
+        if (i < count) {
+            list[count] = list[i];
+            list[count].setListIndex(count);
+        }
+        list[i] = piece;
+        piece.setListIndex(i);
+        pieceCounts[color][type]++;
+    }
+
+    /**
+     * Removes a piece from its space, the bitboards, the hash and the
+     * scores.
+     * Called by a piece before it moves, or when it is captured.
+     *
+     * @param piece piece leaving its current space
+     */
+    public void lift(Piece piece) {
+        if (piece.isCaptured()) return;
+        int index = index(piece.getFile(), piece.getRank());
+        // only the piece recorded on the space can be lifted from it
+        if (index < 0 || spaces[index] != piece) return;
+        clearSpace(index);
+    }
+
+    /**
+     * Adds a piece to its current space, the bitboards, the hash and the
+     * scores.
+     * Called by a piece after it moves, or when its capture is reverted.
+     *
+     * @param piece piece arriving at its current space
+     */
+    public void place(Piece piece) {
+        if (piece.isCaptured()) return;
+        int index = index(piece.getFile(), piece.getRank());
+        if (index < 0) return;
+        // a piece placed on an occupied space replaces the occupant
+        if (spaces[index] != null) { clearSpace(index); }
+        spaces[index] = piece;
+        hash ^= zobrist.pieceKey(piece.getColor(), piece.typeIndex(), index);
+        if (pieceSquareTable != null) {
+            scores[piece.getColor()] +=
+                    pieceSquareTable.score(piece.getColor(), piece.typeIndex(), index);
+        }
+        if (piece.typeIndex() == KING_TYPE_INDEX) {
+            kingIndexes[piece.getColor()] = index;
+        }
+        if (bitboards != null) {
+            // the new piece blocks the sliders which could see through
+            // its space, and attacks spaces of its own
+            long sliders = slidersThrough(index);
+            long bit = bit(index);
+            colorBitboards[piece.getColor()] |= bit;
+            pieceBitboards[piece.getColor()][piece.typeIndex()] |= bit;
+            updateSliderAttacks(sliders, getOccupied() & ~bit);
+            updateAttacks(piece.getColor(),
+                    attacks(piece.getColor(), piece.typeIndex(), index), 1);
+        } else if (wideBitboards != null) {
+            Bitset.set(occupiedBitset, index);
+            Bitset.set(pieceBitsets[piece.getColor()][piece.typeIndex()], index);
+        }
+    }
+
+    /**
+     * Removes the piece on a space from the space, the bitboards, the
+     * hash and the scores
+     *
+     * @param index index of an occupied space
+     */
+    private void clearSpace(int index) {
+        Piece piece = spaces[index];
+        spaces[index] = null;
+        hash ^= zobrist.pieceKey(piece.getColor(), piece.typeIndex(), index);
+        if (pieceSquareTable != null) {
+            scores[piece.getColor()] -=
+                    pieceSquareTable.score(piece.getColor(), piece.typeIndex(), index);
+        }
+        if (bitboards != null) {
+            // the piece stops attacking, and the sliders it was blocking
+            // can now see past its space
+            updateAttacks(piece.getColor(),
+                    attacks(piece.getColor(), piece.typeIndex(), index), -1);
+            long sliders = slidersThrough(index);
+            long bit = bit(index);
+            colorBitboards[piece.getColor()] &= ~bit;
+            pieceBitboards[piece.getColor()][piece.typeIndex()] &= ~bit;
+            updateSliderAttacks(sliders, getOccupied() | bit);
+        } else if (wideBitboards != null) {
+            Bitset.clear(occupiedBitset, index);
+            Bitset.clear(pieceBitsets[piece.getColor()][piece.typeIndex()], index);
+        }
+    }
+
+    /**
+     * Returns the Rooks, Bishops and Queens of both colors whose
+     * attacks reach a space, i.e. those whose attacks change when
+     * a piece arrives at or leaves the space
+     *
+     * @param index index of the space
+     * @return bitboard of the sliders' spaces
+     */
+    private long slidersThrough(int index) {
+        long occupied = getOccupied();
+        long[] white = pieceBitboards[WHITE];
+        long[] black = pieceBitboards[BLACK];
+        long queens = white[QUEEN_TYPE_INDEX] | black[QUEEN_TYPE_INDEX];
+        return (bitboards.rookAttacks(index, occupied) & (queens |
+                        white[ROOK_TYPE_INDEX] | black[ROOK_TYPE_INDEX])) |
+                (bitboards.bishopAttacks(index, occupied) & (queens |
+                        white[BISHOP_TYPE_INDEX] | black[BISHOP_TYPE_INDEX]));
+    }
+
+    /**
+     * Updates the attack maps after a space changed occupancy, by taking
+     * away the spaces each slider no longer attacks and adding the
+     * spaces it now attacks (only the part of its ray past the space)
+     *
+     * @param sliders bitboard of the spaces of the sliders which saw
+     *                the space before the change
+     * @param oldOccupied occupied spaces before the change
+     */
+    private void updateSliderAttacks(long sliders, long oldOccupied) {
+        long occupied = getOccupied();
+        while (sliders != 0) {
+            int index = Long.numberOfTrailingZeros(sliders);
+            sliders &= sliders - 1;
+            Piece slider = spaces[index];
+            int type = slider.typeIndex();
+            long before = sliderAttacks(type, index, oldOccupied);
+            long after = sliderAttacks(type, index, occupied);
+            updateAttacks(slider.getColor(), before & ~after, -1);
+            updateAttacks(slider.getColor(), after & ~before, 1);
+        }
+    }
+
+    /**
+     * Returns the spaces a Rook, Bishop or Queen on a space attacks,
+     * given a set of occupied spaces
+     *
+     * @param typeIndex type of the slider
+     * @param index index of the slider's space
+     * @param occupied bitboard of occupied spaces
+     * @return bitboard of the spaces attacked
+     */
+    private long sliderAttacks(int typeIndex, int index, long occupied) {
+        switch (typeIndex) {
+            case ROOK_TYPE_INDEX: return bitboards.rookAttacks(index, occupied);
+            case BISHOP_TYPE_INDEX: return bitboards.bishopAttacks(index, occupied);
+            default: return bitboards.queenAttacks(index, occupied);
+        }
+    }
+
+    /**
+     * Adds a set of attacked spaces to a color's attack map,
+     * or takes them away
+     *
+     * @param color color of the attacking piece
+     * @param attacks bitboard of the spaces attacked
+     * @param delta 1 to add the attacks, -1 to take them away
+     */
+    private void updateAttacks(int color, long attacks, int delta) {
+        int[] counts = attackCounts[color];
+        if (delta > 0) { attackedBitboards[color] |= attacks; }
+        while (attacks != 0) {
+            int index = Long.numberOfTrailingZeros(attacks);
+            attacks &= attacks - 1;
+            counts[index] += delta;
+            if (counts[index] == 0) {
+                attackedBitboards[color] &= ~bit(index);
+            }
+        }
+    }
+
+    /**
+     * Returns the spaces a piece of a color and type standing on a space
+     * attacks, i.e. those it could capture on, given the current
+     * occupancy of the board
+     *
+     * @param color white or black
+     * @param typeIndex type of piece (see Constants for possible values)
+     * @param index index of the piece's space
+     * @return bitboard of the spaces attacked
+     */
+    public long attacks(int color, int typeIndex, int index) {
+        switch (typeIndex) {
+            case PAWN_TYPE_INDEX: return bitboards.pawnAttacks(color, index);
+            case KNIGHT_TYPE_INDEX: return bitboards.knightAttacks(index);
+            case BISHOP_TYPE_INDEX: return bishopAttacks(index);
+            case ROOK_TYPE_INDEX: return rookAttacks(index);
+            case QUEEN_TYPE_INDEX: return queenAttacks(index);
+            case KING_TYPE_INDEX: return bitboards.kingAttacks(index);
+            case DUKE_TYPE_INDEX:
+            case GHOST_TYPE_INDEX: return bitboards.dukeAttacks(index);
+            case ZACK_TYPE_INDEX: return bitboards.lineAttacks(index);
+            default: return 0;
+        }
+    }
+
+    /**
+     * Returns the number of pieces of a color attacking a space,
+     * which is looked up in the attack maps, or counted from the
+     * multi-word bitsets on boards with more than 64 spaces. Only
+     * available when the board has either.
+     *
+     * @param index index of the space
+     * @param color color of the attacking pieces
+     * @return number of attackers
+     */
+    public int attackCount(int index, int color) {
+        if (wideBitboards != null) { return wideAttackCount(index, color); }
+        return attackCounts[color][index];
+    }
+
+    /**
+     * Determines if any piece of a color attacks a space. Only available
+     * when the board has bitboards, of either kind.
+     *
+     * @param index index of the space
+     * @param color color of the attacking pieces
+     * @return true if the space is attacked
+     */
+    public boolean isAttacked(int index, int color) {
+        if (wideBitboards != null) { return wideAttackCount(index, color) != 0; }
+        return attackCounts[color][index] != 0;
+    }
+
+    /**
+     * Counts the pieces of a color attacking a space on a board with
+     * more than 64 spaces. The leaping pieces are found by intersecting
+     * their attack sets from the space with the pieces of their type;
+     * the sliding pieces by looking at the first piece on each ray.
+     *
+     * @param index index of the space
+     * @param color color of the attacking pieces
+     * @return number of attackers
+     */
+    private int wideAttackCount(int index, int color) {
+        long[][] own = pieceBitsets[color];
+        // a pawn attacks this space if a pawn of the other color
+        // standing here would attack the pawn's space
+        int count = Bitset.countBoth(wideBitboards.pawnAttacks(1 - color, index),
+                own[PAWN_TYPE_INDEX]) +
+                Bitset.countBoth(wideBitboards.knightAttacks(index),
+                        own[KNIGHT_TYPE_INDEX]) +
+                Bitset.countBoth(wideBitboards.kingAttacks(index),
+                        own[KING_TYPE_INDEX]) +
+                Bitset.countBoth(wideBitboards.dukeAttacks(index),
+                        own[DUKE_TYPE_INDEX]) +
+                Bitset.countBoth(wideBitboards.dukeAttacks(index),
+                        own[GHOST_TYPE_INDEX]) +
+                Bitset.countBoth(wideBitboards.lineAttacks(index),
+                        own[ZACK_TYPE_INDEX]);
+
+        for (int direction = 0; direction < WideBitboards.RAY_DIRECTIONS.length;
+             direction++) {
+            int blocker = wideBitboards.blocker(direction, index, occupiedBitset);
+            if (blocker < 0 || spaces[blocker].getColor() != color) continue;
+            int type = spaces[blocker].typeIndex();
+            int slider = (direction < WideBitboards.NUMBER_OF_ROOK_RAYS) ?
+                    ROOK_TYPE_INDEX : BISHOP_TYPE_INDEX;
+            if (type == slider || type == QUEEN_TYPE_INDEX) { count++; }
+        }
+        return count;
+    }
+
+    /**
+     * Returns every space attacked by a color. Only available when the
+     * board has bitboards.
+     *
+     * @param color color of the attacking pieces
+     * @return bitboard of the attacked spaces
+     */
+    public long getAttackedBitboard(int color) {
+        return attackedBitboards[color];
+    }
+
+    /**
+     * Method which looks up the space (x, y) on the board and
+     * determines if there is a piece there.
      * If there is, it returns that piece, null otherwise.
      *
      * @param file file coordinate
@@ -99,24 +789,27 @@ public class Board {
      * @return The piece at (file, rank), null if one doesn't exist
      */
     public Piece at(char file, int rank) {
-        for (Piece piece : pieces) {
-            if (piece.isAt(file, rank)) return piece;
-        }
-        return null;
+        int index = index(file, rank);
+        return index < 0 ? null : spaces[index];
     }
 
+    /**
+     * Returns the piece on a space given its index
+     *
+     * @param index index of the space (see index(file, rank))
+     * @return The piece on the space, null if one doesn't exist
+     */
+    public Piece at(int index) { return spaces[index]; }
+
     /**
      * Entry method for at(char file, int rank)
-     * Given a (char, int) pair, the method calls at(file, rank)
+     * Given a packed (file, rank) square, the method calls at(file, rank)
      * and returns the piece at that position
-     * @param position (char, int) pair corresponding to a space
-     *                 on the board
+     * @param position (file, rank) coordinate packed into a Square
      * @return the piece at position
      */
-    public Piece at(Pair<Character, Integer> position) {
-        char file = position.getKey();
-        int rank = position.getValue();
-        return at(file, rank);
+    public Piece atSquare(int position) {
+        return at(Square.file(position), Square.rank(position));
     }
 
     /**
@@ -130,6 +823,9 @@ public class Board {
      */
     public boolean isOpenDiagonalPath(char newFile, int newRank, Piece piece) {
         if (!piece.isDiagonalMotion(newFile, newRank)) return false;
+        if (hasBitboardPath(newFile, newRank, piece)) {
+            return isEmptyPath(newFile, newRank, piece);
+        }
         int difference = piece.fileDifference(newFile);
         // fileDifference and rankDifference will return the same value for
         // diagonal paths
@@ -162,6 +858,9 @@ public class Board {
      */
     public boolean isOpenVerticalPath(char newFile, int newRank, Piece piece) {
         if (!piece.isVerticalMotion(newFile, newRank)) return false;
+        if (hasBitboardPath(newFile, newRank, piece)) {
+            return isEmptyPath(newFile, newRank, piece);
+        }
         // fileDifference is 0 for vertical paths
         int difference = piece.rankDifference(newRank);
 
@@ -190,6 +889,9 @@ public class Board {
      */
     public boolean isOpenHorizontalPath(char newFile, int newRank, Piece piece) {
         if (!piece.isHorizontalMotion(newFile, newRank)) return false;
+        if (hasBitboardPath(newFile, newRank, piece)) {
+            return isEmptyPath(newFile, newRank, piece);
+        }
         // rankDifference is 0 for horizontal paths
         int difference = piece.fileDifference(newFile);
 
@@ -208,6 +910,101 @@ public class Board {
         return true;
     }
 
+    /**
+     * Determines if the motion of a piece to (newFile, newRank) can be
+     * checked using the bitboards (i.e. both ends are on the board)
+     * @param newFile file coordinate of new space
+     * @param newRank rank coordinate of new space
+     * @param piece reference to the piece trying to move
+     * @return true if the bitboard lookups can be used
+     */
+    public boolean hasBitboardPath(char newFile, int newRank, Piece piece) {
+        return bitboards != null && index(newFile, newRank) >= 0 &&
+                index(piece.getFile(), piece.getRank()) >= 0;
+    }
+
+    /**
+     * Determines if there are any pieces located between the Piece's
+     * current position and (newFile, newRank) with a single lookup in
+     * the precomputed table of paths
+     * @param newFile file coordinate of new space
+     * @param newRank rank coordinate of new space
+     * @param piece reference to the piece trying to move
+     * @return true if there are no Pieces in the way
+     */
+    private boolean isEmptyPath(char newFile, int newRank, Piece piece) {
+        int start = index(piece.getFile(), piece.getRank());
+        int end = index(newFile, newRank);
+        return (bitboards.between(start, end) & getOccupied()) == 0;
+    }
+
+    /**
+     * Returns the spaces a Rook on a space attacks, given the
+     * current occupancy of the board
+     * @param index index of the Rook's space
+     * @return bitboard of the spaces attacked
+     */
+    public long rookAttacks(int index) {
+        return bitboards.rookAttacks(index, getOccupied());
+    }
+
+    /**
+     * Returns the spaces a Bishop on a space attacks, given the
+     * current occupancy of the board
+     * @param index index of the Bishop's space
+     * @return bitboard of the spaces attacked
+     */
+    public long bishopAttacks(int index) {
+        return bitboards.bishopAttacks(index, getOccupied());
+    }
+
+    /**
+     * Returns the spaces a Queen on a space attacks, given the
+     * current occupancy of the board
+     * @param index index of the Queen's space
+     * @return bitboard of the spaces attacked
+     */
+    public long queenAttacks(int index) {
+        return bitboards.queenAttacks(index, getOccupied());
+    }
+
+    /**
+     * Returns the uncaptured pieces of one color which attack a space,
+     * i.e. those that could move there if an opposing piece stood on it
+     * @param index index of the space
+     * @param color color of the attacking pieces
+     * @return bitboard of the attackers' spaces
+     */
+    public long attackers(int index, int color) {
+        return attackers(index, color, getOccupied());
+    }
+
+    /**
+     * Returns the uncaptured pieces of one color which would attack a
+     * space if the given spaces were the occupied ones, e.g. to see if
+     * a King would be attacked once it has stepped off of its space
+     * @param index index of the space
+     * @param color color of the attacking pieces
+     * @param occupied bitboard of the spaces which block sliders
+     * @return bitboard of the attackers' spaces
+     */
+    public long attackers(int index, int color, long occupied) {
+        long[] own = pieceBitboards[color];
+        long queens = own[QUEEN_TYPE_INDEX];
+        return (bitboards.rookAttacks(index, occupied) &
+                        (own[ROOK_TYPE_INDEX] | queens)) |
+                (bitboards.bishopAttacks(index, occupied) &
+                        (own[BISHOP_TYPE_INDEX] | queens)) |
+                (bitboards.knightAttacks(index) & own[KNIGHT_TYPE_INDEX]) |
+                (bitboards.kingAttacks(index) & own[KING_TYPE_INDEX]) |
+                (bitboards.dukeAttacks(index) &
+                        (own[DUKE_TYPE_INDEX] | own[GHOST_TYPE_INDEX])) |
+                (bitboards.lineAttacks(index) & own[ZACK_TYPE_INDEX]) |
+                // a pawn attacks this space if a pawn of the other color
+                // standing here would attack the pawn's space
+                (bitboards.pawnAttacks(1 - color, index) & own[PAWN_TYPE_INDEX]);
+    }
+
     /**
      * Prints terminal window chess board
      */
@@ -20,8 +20,23 @@ public final class Constants {
             ROOK_IMAGE_INDEX = 2, KNIGHT_IMAGE_INDEX = 3,
             BISHOP_IMAGE_INDEX = 4, PAWN_IMAGE_INDEX = 5;
 
+    // indexes of the bitboards the Board keeps for each type of piece
+    public static final int PAWN_TYPE_INDEX = 0, KNIGHT_TYPE_INDEX = 1,
+            BISHOP_TYPE_INDEX = 2, ROOK_TYPE_INDEX = 3, QUEEN_TYPE_INDEX = 4,
+            KING_TYPE_INDEX = 5, DUKE_TYPE_INDEX = 6, GHOST_TYPE_INDEX = 7,
+            ZACK_TYPE_INDEX = 8;
+    public static final int NUMBER_OF_PIECE_TYPES = 9;
+
     public static final int BLACK = 0, WHITE = 1;
 
+    // time the computer opponent spends choosing each move, the memory
+    // for the results it keeps from move to move, and the threads it
+    // searches with (one per processor)
+    public static final long COMPUTER_MOVE_MILLIS = 1000;
+    public static final int COMPUTER_HASH_MEGABYTES = 32;
+    public static final int COMPUTER_THREADS =
+            Runtime.getRuntime().availableProcessors();
+
     public static final Color illiniOrange = new Color(244, 127, 36);
     public static final Color illiniBlue = new Color(0, 60, 125);
 
@@ -1,8 +1,10 @@
 package com.zberman2.DataManager;
 
+import com.zberman2.Engine.Evaluation;
+import com.zberman2.Engine.ParallelSearch;
+import com.zberman2.Engine.TranspositionTable;
 import com.zberman2.Game.GUI;
 import com.zberman2.Pieces.Piece;
-import javafx.util.Pair;
 
 import javax.swing.*;
 import java.awt.*;
@@ -11,6 +13,7 @@ import java.awt.event.ActionListener;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Stack;
+import java.util.concurrent.ExecutionException;
 import static com.zberman2.DataManager.Constants.*;
 
 /**
@@ -32,6 +35,12 @@ public class GUIControl {
     int currentColor = WHITE;
     // stack of Moves for undo
     Stack<Move> moveStack;
+    // side played by the computer (-1 if both sides are people)
+    private int computerColor = -1;
+    // results the computer keeps from one move to the next
+    private TranspositionTable computerTable;
+    // search choosing the computer's move, null unless one is running
+    private SwingWorker<Integer, Void> computerSearch;
 
     // ActionListeners for all the buttons in the GUI
     ActionListener spaceListener;
@@ -117,13 +126,12 @@ public class GUIControl {
 
         // low-light its space
         light(gui.getSpaceAt(file, rank), false);
-        ArrayList<Pair<Character, Integer>> moveList =
-                master.moveList(piece);
+        ArrayList<Integer> moveList = master.moveList(piece);
 
         // highlight and enable legal moves
-        for (javafx.util.Pair<Character, Integer> move : moveList) {
-            int currRank = move.getValue();
-            char currFile = move.getKey();
+        for (int move : moveList) {
+            int currRank = Square.rank(move);
+            char currFile = Square.file(move);
             light(gui.getSpaceAt(currFile, currRank), true);
         }
     }
@@ -131,16 +139,17 @@ public class GUIControl {
     /**
      * Method called to handle the situation where a user is moving
      * the currentPiece to a new location
-     * @param position New space on the board for a piece to move
+     * @param position New space on the board for a piece to move,
+     *                 packed into a Square
      */
-    public void handleMove(Pair<Character, Integer> position) {
+    public void handleMove(int position) {
         // place the current move onto the stack
-        Piece captured = board.at(position);
-        Pair<Character, Integer> oldPosition = currentPiece.getPosition();
+        Piece captured = board.atSquare(position);
+        int oldPosition = currentPiece.getPosition();
         moveStack.push(new Move(currentPiece, captured, oldPosition, position));
 
         // make the move
-        master.move(currentPiece, position);
+        master.moveToSquare(currentPiece, position);
 
         // refresh board after piece is moved
         try {
@@ -160,17 +169,18 @@ public class GUIControl {
      * Helper method for actionPerformed. Iterates through the spaces
      * and determines which space was clicked on.
      * @param event the click of a space
-     * @return a (file, rank) pair corresponding to the space
+     * @return a (file, rank) pair corresponding to the space, packed
+     *         into a Square (-1 if no space was clicked on)
      */
-    public Pair<Character, Integer> findSource(ActionEvent event) {
+    public int findSource(ActionEvent event) {
         for (int y = board.getYDimension(); y >= 1; y--) {
             for (char x = 'a'; x < ('a' + board.getXDimension()); x++) {
                 if (event.getSource() == gui.getSpaceAt(x, y)) {
-                    return new Pair<Character, Integer>(x, y);
+                    return Square.of(x, y);
                 }
             }
         }
-        return null;
+        return -1;
     }
 
     /**
@@ -213,27 +223,85 @@ public class GUIControl {
         currentColor = 1 - currentColor;
         gui.resetBackgrounds();
         setCurrentSide(currentColor);
-        evaluateBoard();
+        boolean over = evaluateBoard();
+        if (!over && currentColor == computerColor) {
+            playComputerMove();
+        }
     }
 
     /**
      * Checks the board to see if it is in a check, checkmate, or stalemate
      * configuration. If it is, it handles the situation properly.
+     * @return true if the game is over
      */
-    private void evaluateBoard() {
-        if (master.isCheckmate(currentColor)) {
+    private boolean evaluateBoard() {
+        GameStatus status = master.gameStatus(currentColor);
+        if (status.isCheckmate()) {
             gui.checkmateMessage(currentColor);
             gameOver();
-        } else if (master.isStalemate(currentColor)) {
+        } else if (status.isStalemate()) {
             gui.stalemateMessage();
             gameOver();
-        } else if (master.isCheck(currentColor) > 0) {
+        } else if (status.isCheck()) {
             // only a check, game not over
             gui.checkMessage(currentColor);
         } else {
             // display new turn
             gui.updateMessage(currentColor);
         }
+        return status.isGameOver();
+    }
+
+    /**
+     * Lets the computer choose a move for the current side, searching
+     * copies of the board on several threads, and plays it as if it had
+     * been clicked on. The search runs in the background so the window
+     * keeps repainting; the spaces and the undo button are disabled
+     * until the move is played.
+     */
+    private void playComputerMove() {
+        if (computerTable == null) {
+            computerTable = new TranspositionTable(COMPUTER_HASH_MEGABYTES);
+        }
+        final ParallelSearch search = new ParallelSearch(COMPUTER_THREADS,
+                new Evaluation(), computerTable);
+        // copied here, so the background thread never reads the board
+        final Master position = master.copy();
+        final int color = currentColor;
+
+        setCurrentSide(-1);
+        gui.setUndoEnabled(false);
+        computerSearch = new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() {
+                return search.findMove(position, color, COMPUTER_MOVE_MILLIS);
+            }
+
+            @Override
+            protected void done() {
+                // the game ended (forfeit or restart) while searching
+                if (computerSearch != this) return;
+                computerSearch = null;
+                int move = Moves.NO_MOVE;
+                try {
+                    move = get();
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                } catch (ExecutionException e) {
+                    e.printStackTrace();
+                }
+                if (move == Moves.NO_MOVE) {
+                    setCurrentSide(currentColor);
+                    gui.setUndoEnabled(!moveStack.empty());
+                    return;
+                }
+
+                currentPiece = board.at(Moves.start(move));
+                int end = Moves.end(move);
+                handleMove(Square.of(board.fileOf(end), board.rankOf(end)));
+            }
+        };
+        computerSearch.execute();
     }
 
     /**
@@ -242,6 +310,8 @@ public class GUIControl {
      * resets the controller so its ready for a new game.
      */
     private void gameOver() {
+        // a search still running is for a game that is over
+        computerSearch = null;
         gui.resetBackgrounds();
         gui.resetToolbar();
         moveStack = new Stack<Move>();
@@ -285,6 +355,9 @@ public class GUIControl {
     private void promptNames() {
         if (gui.getTeamName(WHITE).equals("") ||
                 gui.getTeamName(BLACK).equals("")) {
+            int computer = JOptionPane.showConfirmDialog(null,
+                    "Play against the computer?", "Opponent",
+                    JOptionPane.YES_NO_OPTION);
             String whiteName = "";
             // ensure the name is not blank
             while (whiteName.equals("")) {
@@ -292,6 +365,11 @@ public class GUIControl {
                         "White team name:");
             }
             String blackName = "";
+            if (computer == JOptionPane.YES_OPTION) {
+                // the computer plays Black
+                computerColor = BLACK;
+                blackName = "Computer";
+            }
             while (blackName.equals("")) {
                 blackName = JOptionPane.showInputDialog(
                         "Black team name:");
@@ -374,8 +452,8 @@ public class GUIControl {
                 setBoard();
 
                 // determine which space was clicked on
-                Pair<Character, Integer> position = findSource(event);
-                Piece piece = board.at(position);
+                int position = findSource(event);
+                Piece piece = board.atSquare(position);
 
                 // user is selecting on of his/her pieces
                 if (piece != null && piece.getColor() == currentColor) {
@@ -396,10 +474,19 @@ public class GUIControl {
         undoListener = new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent event) {
-                // find the last move and revert it
-                Move lastMove = moveStack.pop();
-                lastMove.undo();
-                switchSides();
+                if (computerColor >= 0 && moveStack.size() >= 2) {
+                    // take back the computer's reply along with the
+                    // move it answered, so it's the player's turn again
+                    moveStack.pop().undo();
+                    moveStack.pop().undo();
+                    setBoard();
+                    evaluateBoard();
+                } else {
+                    // find the last move and revert it
+                    Move lastMove = moveStack.pop();
+                    lastMove.undo();
+                    switchSides();
+                }
                 try {
                     gui.refreshBoard();
                 } catch (IOException e) {
@@ -0,0 +1,68 @@
+package com.zberman2.DataManager;
+
+/**
+ * Class describing the state of the game for the side about to move:
+ * how many pieces check its King, and whether it has any legal move.
+ * Check, checkmate and stalemate all follow from those two facts, so
+ * they are found once per position (see Master.gameStatus) instead of
+ * once per question.
+ */
+public class GameStatus {
+    private final int color;          // side about to move
+    private final int checks;         // pieces checking its King (at most 2)
+    private final boolean hasLegalMoves;
+
+    /**
+     * Constructor for the status of one side
+     * @param color white or black
+     * @param checks number of pieces checking the King, 2 for more
+     * @param hasLegalMoves true if the side can make any legal move
+     */
+    public GameStatus(int color, int checks, boolean hasLegalMoves) {
+        this.color = color;
+        this.checks = checks;
+        this.hasLegalMoves = hasLegalMoves;
+    }
+
+    /**
+     * Getter for the side the status describes
+     * @return white or black
+     */
+    public int getColor() { return color; }
+
+    /**
+     * Getter for the number of pieces checking the King
+     * @return 0 if not in check, 1 for single check, 2 for double check
+     */
+    public int getChecks() { return checks; }
+
+    /**
+     * Determines if the side can make any legal move
+     * @return true if there is at least one legal move
+     */
+    public boolean hasLegalMoves() { return hasLegalMoves; }
+
+    /**
+     * Determines if the King is in check
+     * @return true if at least one piece checks the King
+     */
+    public boolean isCheck() { return checks > 0; }
+
+    /**
+     * Determines if the King is in check with no way out
+     * @return true if the game is lost
+     */
+    public boolean isCheckmate() { return checks > 0 && !hasLegalMoves; }
+
+    /**
+     * Determines if the King is not in check, but no move can be made
+     * @return true if the game is drawn
+     */
+    public boolean isStalemate() { return checks == 0 && !hasLegalMoves; }
+
+    /**
+     * Determines if the game is over (checkmate or stalemate)
+     * @return true if the side has no legal moves
+     */
+    public boolean isGameOver() { return !hasLegalMoves; }
+}
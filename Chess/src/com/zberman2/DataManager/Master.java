@@ -1,14 +1,15 @@
 package com.zberman2.DataManager;
 
-import com.zberman2.Pieces.King;
+import com.zberman2.Pieces.Pawn;
 import com.zberman2.Pieces.Piece;
-import javafx.util.Pair;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 
-import static com.zberman2.DataManager.Constants.BLACK;
-import static com.zberman2.DataManager.Constants.WHITE;
+import static com.zberman2.DataManager.Bitboards.bit;
+import static com.zberman2.DataManager.Constants.*;
+import static com.zberman2.DataManager.Moves.*;
 
 /**
  * The master class controls the flow of the game.
@@ -16,7 +17,26 @@ import static com.zberman2.DataManager.Constants.WHITE;
  * Created by Zack Berman on 9/11/2014.
  */
 public class Master {
+    // order anyLegalMove tries the types of pieces in, the ones that
+    // usually have the most moves first
+    private static final int[] MOBILITY_ORDER = {QUEEN_TYPE_INDEX,
+            ZACK_TYPE_INDEX, ROOK_TYPE_INDEX, BISHOP_TYPE_INDEX,
+            DUKE_TYPE_INDEX, GHOST_TYPE_INDEX, KNIGHT_TYPE_INDEX,
+            PAWN_TYPE_INDEX, KING_TYPE_INDEX};
+
     private Board chessboard; // the master has access to the board
+    private final MoveList targets = new MoveList(); // reused by moveList
+    private final MoveList pieceMoves = new MoveList(); // reused by hasLegalMove
+
+    // status last computed by gameStatus, and the position it belongs to
+    private GameStatus status;
+    private Board statusBoard;
+    private long statusHash;
+
+    // pieces captured by the moves made with makeMove, most recent last,
+    // so that undoMove can put them back
+    private Piece[] capturedStack = new Piece[64];
+    private int capturedCount = 0;
 
     /**
      * No args constructor which initializes a blank standard board, populates
@@ -73,6 +93,15 @@ public class Master {
      */
     public Master(Board board) { this.chessboard = board; }
 
+    /**
+     * Returns a master controlling a copy of the board, whose moves
+     * don't affect this master's board
+     * @return master of an independent copy of the board
+     */
+    public Master copy() {
+        return new Master(chessboard.copy());
+    }
+
     /**
      * Getter for the Master's board
      * @return chessboard
@@ -134,55 +163,65 @@ public class Master {
 
     /**
      * Determines if a piece can move to a new location on the board.
+     * The move is tried on the board and taken back, without creating
+     * any objects along the way.
      * @param piece Piece to be moved
      * @param newFile file coordinate of new space
      * @param newRank rank coordinate of new space
      * @return true if moving to (newFile, newRank) is legal
      */
     public boolean canMove(Piece piece, char newFile, int newRank) {
-        // store starting position in case we need to revert to old location
-        Pair<Character, Integer> oldPosition = piece.getPosition();
-        Pair<Character, Integer> newPosition = new Pair<Character, Integer>(newFile, newRank);
-        Piece captured = chessboard.at(newFile, newRank);
-        Move move = new Move(piece, captured, oldPosition, newPosition);
-
         // test if (file, rank) is the current space
-        if (newPosition == oldPosition) { return false; }
+        if (newFile == piece.getFile() && newRank == piece.getRank()) {
+            return false;
+        }
 
         // see if moving to (file, rank) is legal
         if (!piece.canMove(newFile, newRank, chessboard)) { return false; }
 
+        return isSafeForKing(piece, newFile, newRank);
+    }
+
+    /**
+     * Determines if moving a piece to a space it can move to leaves its
+     * King out of check. The move is tried on the board and taken back,
+     * without creating any objects along the way.
+     * @param piece Piece to be moved
+     * @param newFile file coordinate of new space
+     * @param newRank rank coordinate of new space
+     * @return true if the King isn't in check after the move
+     */
+    private boolean isSafeForKing(Piece piece, char newFile, int newRank) {
+        // store starting position in case we need to revert to old location
+        int oldPosition = piece.getPosition();
+
         // locate the piece at (file, rank) if one exists, and capture it
+        Piece captured = chessboard.at(newFile, newRank);
         if (captured != null) { captured.setIsCapturedTrue(); }
 
         // move the piece to (file, rank)
         piece.move(newFile, newRank);
 
         // test if moving to (file, rank) leave the King in check
-        if (isCheck(piece.getColor()) > 0) {
-            // return piece to its former position
-            move.undo();
-            return false;
-        }
+        boolean legal = isCheck(piece.getColor()) == 0;
 
-        // undo move, and return true
-        move.undo();
-        return true;
+        // return piece to its former position
+        Move.revert(piece, captured, oldPosition);
+        return legal;
     }
 
     /**
-     * Entry method for move(newFile, newRank) using a (char, int) pair
+     * Entry method for move(newFile, newRank) using a packed square
      * @param piece Piece to be moved
-     * @param newPosition new location on the board
+     * @param newPosition new location on the board, packed into a Square
      */
-    public void move(Piece piece, Pair<Character, Integer> newPosition) {
-        char file = newPosition.getKey();
-        int rank = newPosition.getValue();
-        move(piece, file, rank);
+    public void moveToSquare(Piece piece, int newPosition) {
+        move(piece, Square.file(newPosition), Square.rank(newPosition));
     }
 
     /**
-     * Moves a piece to a new (file, rank)
+     * Moves a piece to a new (file, rank), and passes the turn to
+     * the other side
      * Note, this method is only called if canMove(newFile, newRank) has already
      * been determined to be true
      * @param piece Piece to be moved
@@ -195,6 +234,42 @@ public class Master {
             captured.setIsCapturedTrue();
         }
         piece.move(newFile, newRank);
+        chessboard.switchSides();
+    }
+
+    /**
+     * Makes a packed move (see the Moves class), and passes the turn to
+     * the other side. Unlike a Move object, nothing is created, so
+     * callers that walk through many positions can make and take back
+     * moves without producing garbage.
+     * Note, this method is only called with legal moves, e.g. those
+     * from moveList(color, moves)
+     * @param move packed move
+     */
+    public void makeMove(int move) {
+        Piece piece = chessboard.at(start(move));
+        Piece captured = chessboard.at(end(move));
+        if (capturedCount == capturedStack.length) {
+            capturedStack = Arrays.copyOf(capturedStack, capturedCount * 2);
+        }
+        capturedStack[capturedCount++] = captured;
+        if (captured != null) { captured.setIsCapturedTrue(); }
+        piece.move(chessboard.fileOf(end(move)), chessboard.rankOf(end(move)));
+        chessboard.switchSides();
+    }
+
+    /**
+     * Takes back the last move made with makeMove, and passes the turn
+     * back to the side which made it
+     * @param move packed move, which must be the last one made
+     */
+    public void undoMove(int move) {
+        Piece piece = chessboard.at(end(move));
+        Piece captured = capturedStack[--capturedCount];
+        capturedStack[capturedCount] = null;
+        Move.revert(piece, captured, Square.of(chessboard.fileOf(start(move)),
+                chessboard.rankOf(start(move))));
+        chessboard.switchSides();
     }
 
     /**
@@ -205,22 +280,28 @@ public class Master {
      */
     public int isCheck(int color) {
         Piece king = findKing(color);
+        if (king == null) { return 0; } // no King to check
 
         char file = king.getFile();
         int rank = king.getRank();
         int numberOfChecks = 0;
 
-        // see if any piece can attack the king in 1 legal move
-        ArrayList<Piece> opponent;
-        if (color == WHITE) {
-            opponent = pieceArrayList(BLACK);
-        } else {
-            opponent = pieceArrayList(WHITE);
+        if (chessboard.getBitboards() != null ||
+                chessboard.getWideBitboards() != null) {
+            // look up the number of opposing pieces attacking the king
+            int index = chessboard.getKingIndex(color);
+            return Math.min(chessboard.attackCount(index, 1 - color), 2);
         }
-        for (Piece piece : opponent) {
-            if (piece.canMove(file, rank, chessboard)) {
-                numberOfChecks++;
-                if (numberOfChecks > 1) { return numberOfChecks; }
+
+        // see if any live opposing piece can attack the king in 1 legal move
+        int opponent = 1 - color;
+        for (int type = 0; type < NUMBER_OF_PIECE_TYPES; type++) {
+            for (int i = 0; i < chessboard.pieceCount(opponent, type); i++) {
+                Piece piece = chessboard.getPiece(opponent, type, i);
+                if (piece.canMove(file, rank, chessboard)) {
+                    numberOfChecks++;
+                    if (numberOfChecks > 1) { return numberOfChecks; }
+                }
             }
         }
         // return the number of pieces checking the king
@@ -234,11 +315,69 @@ public class Master {
      * @return true if the color has legal moves available
      */
     public boolean hasLegalMoves(int color) {
-        ArrayList<Piece> pieces = pieceArrayList(color);
-        for (Piece piece : pieces) {
-            ArrayList<Pair<Character, Integer>> moves =
-                    moveList(piece);
-            if (!moves.isEmpty()) return true;
+        return anyLegalMove(color);
+    }
+
+    /**
+     * Determines if a color can make at least one legal move, stopping
+     * at the first one found. The pieces that usually have the most
+     * moves are tried first, and the King first when it is in check,
+     * so in most positions only one piece is looked at.
+     * @param color white or black
+     * @return true if the color has a legal move available
+     */
+    public boolean anyLegalMove(int color) {
+        return anyLegalMove(color, isCheck(color));
+    }
+
+    /**
+     * Determines if a color can make at least one legal move, given
+     * how many pieces check its King
+     * @param color white or black
+     * @param checks number of pieces checking the King (see isCheck)
+     * @return true if the color has a legal move available
+     */
+    private boolean anyLegalMove(int color, int checks) {
+        Piece king = findKing(color);
+        if (checks > 0 && king != null) {
+            // in check, moving the King is the most likely way out
+            if (hasLegalMove(king)) return true;
+            // in double check, it is the only way out
+            if (checks > 1) return false;
+        }
+        for (int type : MOBILITY_ORDER) {
+            if (type == KING_TYPE_INDEX && checks > 0) continue;
+            for (int i = 0; i < chessboard.pieceCount(color, type); i++) {
+                if (hasLegalMove(chessboard.getPiece(color, type, i))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines if a piece has at least one legal move. On boards with
+     * bitboards only that piece's moves are generated; otherwise its
+     * targets are tried one at a time until one is safe for the King.
+     * @param piece piece to be moved
+     * @return true if the piece can move
+     */
+    private boolean hasLegalMove(Piece piece) {
+        if (chessboard.getBitboards() != null) {
+            pieceMoves.clear();
+            legalMoveList(piece.getColor(), pieceMoves,
+                    bit(chessboard.index(piece.getFile(), piece.getRank())),
+                    ~0L);
+            return !pieceMoves.isEmpty();
+        }
+        targets.clear();
+        piece.addTargets(chessboard, targets);
+        for (int i = 0; i < targets.size(); i++) {
+            int target = targets.get(i);
+            if (isSafeForKing(piece, Square.file(target), Square.rank(target))) {
+                return true;
+            }
         }
         return false;
     }
@@ -252,9 +391,7 @@ public class Master {
     public boolean kingHasLegalMoves(int color) {
         Piece king = findKing(color);
         // see if the King can make any legal moves
-        ArrayList<Pair<Character, Integer>> kingMoves =
-                moveList(king);
-        return !kingMoves.isEmpty();
+        return king != null && hasLegalMove(king);
     }
 
     /**
@@ -264,16 +401,7 @@ public class Master {
      * @return true if he is in checkmate
      */
     public boolean isCheckmate(int color) {
-        int numberOfChecks = isCheck(color);
-
-        switch (numberOfChecks) {
-            case 1: // single check, see if any pieces have a legal move
-                return !hasLegalMoves(color);
-            case 2: // double check, see if the king has any legal moves
-                return !kingHasLegalMoves(color);
-            default: // king is not in check
-                return false;
-        }
+        return gameStatus(color).isCheckmate();
     }
 
     /**
@@ -282,9 +410,40 @@ public class Master {
      * @return true if the game ends in a stalemate
      */
     public boolean isStalemate(int color) {
-        // make sure the king is not in check, but there are no
-        // legal moves available
-        return isCheck(color) == 0 && !hasLegalMoves(color);
+        return gameStatus(color).isStalemate();
+    }
+
+    /**
+     * Finds whether a color is in check and whether it has any legal
+     * move, in one pass. The result is kept until the position changes,
+     * so asking about check, checkmate and stalemate after a move only
+     * does the work once.
+     * @param color color about to move
+     * @return status of the game for that color
+     */
+    public GameStatus gameStatus(int color) {
+        long hash = chessboard.getHash();
+        if (status != null && status.getColor() == color &&
+                statusBoard == chessboard && statusHash == hash) {
+            return status;
+        }
+
+        status = computeGameStatus(color);
+        statusBoard = chessboard;
+        statusHash = hash;
+        return status;
+    }
+
+    /**
+     * Finds whether a color is in check and whether it has any legal
+     * move, without looking at (or updating) the result kept by
+     * gameStatus
+     * @param color color about to move
+     * @return status of the game for that color
+     */
+    public GameStatus computeGameStatus(int color) {
+        int checks = isCheck(color);
+        return new GameStatus(color, checks, anyLegalMove(color, checks));
     }
 
     /**
@@ -295,9 +454,9 @@ public class Master {
      */
     public ArrayList<Piece> pieceArrayList(int color) {
         ArrayList<Piece> pieces = new ArrayList<Piece>();
-        for (Piece piece : chessboard.getPieces()) {
-            if (piece.getColor() == color && !piece.isCaptured()) {
-                pieces.add(piece);
+        for (int type = 0; type < NUMBER_OF_PIECE_TYPES; type++) {
+            for (int i = 0; i < chessboard.pieceCount(color, type); i++) {
+                pieces.add(chessboard.getPiece(color, type, i));
             }
         }
         return pieces;
@@ -306,39 +465,482 @@ public class Master {
     /**
      * Compiles and returns a list of legal moves for a given piece
      * @param piece Piece to be moved
-     * @return ArrayList of legal moves in the form of (char, int) pairs
-     */
-    public ArrayList< Pair<Character, Integer> > moveList(Piece piece) {
-        ArrayList< Pair<Character, Integer> > moves =
-                new ArrayList<Pair<Character, Integer>>();
-
-        // store coordinates for resetting after testing each move
-        // iterate through the board and see if this piece can move to
-        // each space
-        for (char file = 'a'; file < ('a' + chessboard.getXDimension()); file++) {
-            for (int rank = 1; rank <= chessboard.getYDimension(); rank++) {
-                if (canMove(piece, file, rank)) {
-                    moves.add(new Pair<Character, Integer>(file, rank));
-                }
+     * @return ArrayList of legal moves in the form of packed squares
+     *         (see the Square class)
+     */
+    public ArrayList<Integer> moveList(Piece piece) {
+        ArrayList<Integer> moves = new ArrayList<Integer>();
+
+        // only try the spaces the piece's pattern of motion reaches
+        targets.clear();
+        piece.addTargets(chessboard, targets);
+        for (int i = 0; i < targets.size(); i++) {
+            int target = targets.get(i);
+            if (isSafeForKing(piece, Square.file(target), Square.rank(target))) {
+                moves.add(target);
             }
         }
         return moves;
     }
 
     /**
-     * Finds and returns the King for a particular color
-     * @param color color of the King we are finding
-     * @return the King of a certain color
+     * Compiles a list of legal moves for a given piece in packed form
+     * (see the Moves class), appending them to a list supplied by the
+     * caller so that no objects are created
+     * @param piece Piece to be moved
+     * @param moves list the legal moves are added to
      */
-    private Piece findKing(int color) {
-        Piece king = null;
-        for (Piece piece : chessboard.getPieces()) {
-            if ((piece instanceof King) && (piece.getColor() == color)) {
-                king = piece;
-                break;
+    public void moveList(Piece piece, MoveList moves) {
+        int start = chessboard.index(piece.getFile(), piece.getRank());
+        int flags = 0;
+        if (piece instanceof Pawn && ((Pawn) piece).getIsFirstMove()) {
+            flags = FIRST_MOVE_FLAG;
+        }
+
+        // only try the spaces the piece's pattern of motion reaches
+        targets.clear();
+        piece.addTargets(chessboard, targets);
+        for (int i = 0; i < targets.size(); i++) {
+            char file = Square.file(targets.get(i));
+            int rank = Square.rank(targets.get(i));
+            if (isSafeForKing(piece, file, rank)) {
+                Piece captured = chessboard.at(file, rank);
+                int end = chessboard.index(file, rank);
+                if (captured == null) {
+                    moves.add(encode(start, end, piece.typeIndex(),
+                            NO_PIECE, flags));
+                } else {
+                    moves.add(encode(start, end, piece.typeIndex(),
+                            captured.typeIndex(), flags | CAPTURE_FLAG));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds every legal move of one color to a list of packed moves
+     * (see the Moves class). On boards with bitboards the moves are
+     * generated directly without trying them on the board (see
+     * legalMoveList), otherwise each piece's moves are tested one at
+     * a time with canMove.
+     * @param color white or black
+     * @param moves list the moves are added to
+     */
+    public void moveList(int color, MoveList moves) {
+        if (chessboard.getBitboards() != null) {
+            legalMoveList(color, moves, ~0L, ~0L);
+            return;
+        }
+        for (int type = 0; type < NUMBER_OF_PIECE_TYPES; type++) {
+            for (int i = 0; i < chessboard.pieceCount(color, type); i++) {
+                moveList(chessboard.getPiece(color, type, i), moves);
             }
         }
-        return king;
+    }
+
+    /**
+     * Adds the legal captures of one color to a list of packed moves
+     * @param color white or black
+     * @param moves list the moves are added to
+     */
+    public void captureList(int color, MoveList moves) {
+        if (chessboard.getBitboards() != null) {
+            legalMoveList(color, moves, ~0L,
+                    chessboard.getColorBitboard(1 - color));
+            return;
+        }
+        int size = moves.size();
+        moveList(color, moves);
+        keepMoves(moves, size, true);
+    }
+
+    /**
+     * Adds the legal moves of one color which don't capture anything
+     * to a list of packed moves
+     * @param color white or black
+     * @param moves list the moves are added to
+     */
+    public void quietList(int color, MoveList moves) {
+        if (chessboard.getBitboards() != null) {
+            legalMoveList(color, moves, ~0L, ~chessboard.getOccupied());
+            return;
+        }
+        int size = moves.size();
+        moveList(color, moves);
+        keepMoves(moves, size, false);
+    }
+
+    /**
+     * Determines if a packed move (e.g. one remembered from another
+     * position with the same hash) is a legal move for one color in the
+     * current position. On boards with bitboards the board isn't changed.
+     * @param color white or black
+     * @param move packed move
+     * @return true if the move can be made in the current position
+     */
+    public boolean isLegal(int color, int move) {
+        int spaces = chessboard.getXDimension() * chessboard.getYDimension();
+        if (move == NO_MOVE || start(move) >= spaces || end(move) >= spaces) {
+            return false;
+        }
+        Piece piece = chessboard.at(start(move));
+        if (piece == null || piece.getColor() != color ||
+                piece.typeIndex() != movedType(move)) {
+            return false;
+        }
+        Piece captured = chessboard.at(end(move));
+        int victim = (captured == null) ? NO_PIECE : captured.typeIndex();
+        if (victim != capturedType(move)) { return false; }
+
+        if (chessboard.getBitboards() == null) {
+            return canMove(piece, chessboard.fileOf(end(move)),
+                    chessboard.rankOf(end(move)));
+        }
+        targets.clear();
+        legalMoveList(color, targets, bit(start(move)),
+                bit(end(move)));
+        return targets.size() == 1 && targets.get(0) == move;
+    }
+
+    /**
+     * Removes either the captures or the other moves from the end of a
+     * list of packed moves
+     * @param moves list of moves
+     * @param start index of the first move which may be removed
+     * @param captures true to keep the captures, false to keep the rest
+     */
+    private static void keepMoves(MoveList moves, int start, boolean captures) {
+        int kept = start;
+        for (int i = start; i < moves.size(); i++) {
+            if (isCapture(moves.get(i)) == captures) {
+                moves.set(kept++, moves.get(i));
+            }
+        }
+        moves.truncate(kept);
+    }
+
+    /**
+     * Generates the legal moves of one color from the bitboards.
+     * The pieces checking the King, and the pieces pinned to it by an
+     * opposing Rook, Bishop or Queen, are found first. When the King is
+     * in check only the moves which get out of it are generated (see
+     * evasionList). Otherwise every move is legal except that:
+     * - a pinned piece must stay between the King and the pinner, or
+     *   capture the pinner
+     * - the King may only move to a space no opposing piece attacks
+     * Since nothing is moved, the board can be shared with other
+     * threads while they generate moves too.
+     * @param color white or black
+     * @param moves list the moves are added to
+     * @param from bitboard of the spaces whose pieces may move
+     * @param to bitboard of the spaces the pieces may move to
+     */
+    private void legalMoveList(int color, MoveList moves, long from, long to) {
+        Bitboards bitboards = chessboard.getBitboards();
+        long own = chessboard.getColorBitboard(color);
+        long occupied = chessboard.getOccupied();
+        int king = chessboard.getKingIndex(color);
+
+        long checkers = 0;
+        long pinners = 0;
+        if (king >= 0) {
+            checkers = chessboard.attackers(king, 1 - color);
+            if (checkers != 0) {
+                addEvasions(color, king, checkers, moves, from, to);
+                return;
+            }
+            pinners = pinners(color, king);
+        }
+        long pinned = pinned(king, pinners);
+
+        long targets = ~own & to; // where pieces other than the King may go
+        for (int type = 0; type < NUMBER_OF_PIECE_TYPES; type++) {
+            for (int i = 0; i < chessboard.pieceCount(color, type); i++) {
+                Piece piece = chessboard.getPiece(color, type, i);
+                int index = chessboard.index(piece.getFile(), piece.getRank());
+                if ((from & bit(index)) == 0) {
+                    continue;
+                } else if (index == king) {
+                    addKingMoves(piece, index, false, to, moves);
+                } else if ((pinned & bit(index)) == 0) {
+                    addMoves(piece, index, pseudoTargets(piece, index) & targets,
+                            moves);
+                }
+            }
+        }
+
+        // pinned pieces may only move along the pin
+        while (pinners != 0) {
+            int pinner = Long.numberOfTrailingZeros(pinners);
+            pinners &= pinners - 1;
+            long ray = bitboards.between(king, pinner) | bit(pinner);
+            int index = Long.numberOfTrailingZeros(ray & occupied & own);
+            if ((from & bit(index)) == 0) { continue; }
+            Piece piece = chessboard.at(index);
+            addMoves(piece, index, pseudoTargets(piece, index) & targets & ray,
+                    moves);
+        }
+    }
+
+    /**
+     * Adds the legal moves of a color whose King is in check. Only the
+     * moves which can get out of check are looked at:
+     * - King moves to spaces no opposing piece would attack once the
+     *   King has left its current space
+     * - in single check, captures of the checker by the pieces which
+     *   attack it
+     * - in single check by a Rook, Bishop or Queen, moves onto the
+     *   spaces between it and the King (a Zack jumps, so its check
+     *   can't be blocked)
+     * A pinned piece can never do either of the last two, since it would
+     * leave the King open to its pinner. Nothing is added if the King
+     * isn't in check.
+     * @param color white or black
+     * @param moves list the moves are added to
+     */
+    public void evasionList(int color, MoveList moves) {
+        if (isCheck(color) == 0) return;
+        int king = chessboard.getKingIndex(color);
+        if (chessboard.getBitboards() == null) {
+            moveList(color, moves);
+            return;
+        }
+        long checkers = chessboard.attackers(king, 1 - color);
+        if (checkers == 0) { return; }
+        addEvasions(color, king, checkers, moves, ~0L, ~0L);
+    }
+
+    /**
+     * Adds the moves which get a color's King out of check (see
+     * evasionList)
+     * @param color white or black
+     * @param king index of the King's space
+     * @param checkers bitboard of the pieces checking the King
+     * @param moves list the moves are added to
+     * @param from bitboard of the spaces whose pieces may move
+     * @param to bitboard of the spaces the pieces may move to
+     */
+    private void addEvasions(int color, int king, long checkers,
+                             MoveList moves, long from, long to) {
+        if ((from & bit(king)) != 0) {
+            addKingMoves(chessboard.at(king), king, true, to, moves);
+        }
+        if (Long.bitCount(checkers) > 1) return;
+
+        int checker = Long.numberOfTrailingZeros(checkers);
+        long defenders = from & ~bit(king) & ~pinned(king, pinners(color, king));
+        long occupied = chessboard.getOccupied();
+        long pawns = chessboard.getPieceBitboard(color, PAWN_TYPE_INDEX);
+
+        // capture the checker with any piece attacking it
+        if ((to & checkers) != 0) {
+            addMovesTo(chessboard.attackers(checker, color, occupied) &
+                    defenders, checker, moves);
+        }
+
+        // step between a sliding checker and the King
+        if (!isSlider(chessboard.at(checker).typeIndex())) return;
+        long blocks = chessboard.getBitboards().between(king, checker) & to;
+        int step = (color == WHITE) ? chessboard.getXDimension() :
+                -chessboard.getXDimension();
+        int spaces = chessboard.getXDimension() * chessboard.getYDimension();
+        while (blocks != 0) {
+            int block = Long.numberOfTrailingZeros(blocks);
+            blocks &= blocks - 1;
+            // Pawns only capture on their attacked spaces, so they
+            // block by stepping forward instead
+            addMovesTo(chessboard.attackers(block, color, occupied) &
+                    defenders & ~pawns, block, moves);
+            int one = block - step;
+            if (one < 0 || one >= spaces) continue;
+            if ((pawns & defenders & bit(one)) != 0) {
+                addMovesTo(bit(one), block, moves);
+            } else if ((occupied & bit(one)) == 0) {
+                int two = one - step;
+                if (two >= 0 && two < spaces &&
+                        (pawns & defenders & bit(two)) != 0 &&
+                        ((Pawn) chessboard.at(two)).getIsFirstMove()) {
+                    addMovesTo(bit(two), block, moves);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the moves of several pieces onto one space to a list of
+     * packed moves
+     * @param pieces bitboard of the spaces of the pieces moving
+     * @param end index of the space they move to
+     * @param moves list the moves are added to
+     */
+    private void addMovesTo(long pieces, int end, MoveList moves) {
+        while (pieces != 0) {
+            int start = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            addMoves(chessboard.at(start), start, bit(end), moves);
+        }
+    }
+
+    /**
+     * Returns the opposing Rooks, Bishops and Queens that would attack a
+     * color's King if exactly one of its own pieces weren't in the way
+     * @param color color of the King
+     * @param king index of the King's space
+     * @return bitboard of the pinning pieces
+     */
+    private long pinners(int color, int king) {
+        Bitboards bitboards = chessboard.getBitboards();
+        int opponent = 1 - color;
+        long occupied = chessboard.getOccupied();
+        long opposing = chessboard.getColorBitboard(opponent);
+        long queens = chessboard.getPieceBitboard(opponent, QUEEN_TYPE_INDEX);
+        long candidates = (bitboards.rookAttacks(king, opposing) &
+                (chessboard.getPieceBitboard(opponent, ROOK_TYPE_INDEX) | queens)) |
+                (bitboards.bishopAttacks(king, opposing) &
+                (chessboard.getPieceBitboard(opponent, BISHOP_TYPE_INDEX) | queens));
+        long pinners = 0;
+        while (candidates != 0) {
+            int pinner = Long.numberOfTrailingZeros(candidates);
+            candidates &= candidates - 1;
+            if (Long.bitCount(bitboards.between(king, pinner) & occupied) == 1) {
+                pinners |= bit(pinner);
+            }
+        }
+        return pinners;
+    }
+
+    /**
+     * Returns the pieces pinned to a King
+     * @param king index of the King's space
+     * @param pinners bitboard of the pinning pieces (see pinners)
+     * @return bitboard of the pinned pieces
+     */
+    private long pinned(int king, long pinners) {
+        long pinned = 0;
+        while (pinners != 0) {
+            int pinner = Long.numberOfTrailingZeros(pinners);
+            pinners &= pinners - 1;
+            pinned |= chessboard.getBitboards().between(king, pinner) &
+                    chessboard.getOccupied();
+        }
+        return pinned;
+    }
+
+    /**
+     * Adds the legal moves of the King, which may go to any space it
+     * attacks that isn't occupied by its own pieces, and won't be
+     * attacked after the move
+     * @param king the King moving
+     * @param index index of the King's space
+     * @param inCheck true if the King is currently attacked
+     * @param to bitboard of the spaces the King may move to
+     * @param moves list the moves are added to
+     */
+    private void addKingMoves(Piece king, int index, boolean inCheck,
+                              long to, MoveList moves) {
+        Bitboards bitboards = chessboard.getBitboards();
+        int opponent = 1 - king.getColor();
+        long targets = bitboards.kingAttacks(index) & to &
+                ~chessboard.getColorBitboard(king.getColor()) &
+                ~chessboard.getAttackedBitboard(opponent);
+        if (inCheck) {
+            // a slider checking the King also attacks the spaces behind
+            // it, which the King still hides from the attack maps
+            long occupied = chessboard.getOccupied() & ~bit(index);
+            long safe = 0;
+            while (targets != 0) {
+                int target = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                if (chessboard.attackers(target, opponent, occupied) == 0) {
+                    safe |= bit(target);
+                }
+            }
+            targets = safe;
+        }
+        addMoves(king, index, targets, moves);
+    }
+
+    /**
+     * Returns the spaces a piece could move to if its King were
+     * ignored, i.e. the spaces it attacks which aren't occupied by its
+     * own pieces (and, for a Pawn, the empty spaces it can step to)
+     * @param piece uncaptured piece
+     * @param index index of the piece's space
+     * @return bitboard of the target spaces
+     */
+    private long pseudoTargets(Piece piece, int index) {
+        int color = piece.getColor();
+        if (piece.typeIndex() != PAWN_TYPE_INDEX) {
+            return chessboard.attacks(color, piece.typeIndex(), index) &
+                    ~chessboard.getColorBitboard(color);
+        }
+
+        // pawns only capture diagonally...
+        long targets = chessboard.getBitboards().pawnAttacks(color, index) &
+                chessboard.getColorBitboard(1 - color);
+
+        // ...and step forward onto empty spaces
+        int step = (color == WHITE) ? chessboard.getXDimension() :
+                -chessboard.getXDimension();
+        int spaces = chessboard.getXDimension() * chessboard.getYDimension();
+        int one = index + step;
+        if (one >= 0 && one < spaces && chessboard.at(one) == null) {
+            targets |= bit(one);
+            int two = one + step;
+            if (((Pawn) piece).getIsFirstMove() && two >= 0 && two < spaces &&
+                    chessboard.at(two) == null) {
+                targets |= bit(two);
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Adds the moves of a piece to each of a set of spaces to a list of
+     * packed moves
+     * @param piece piece moving
+     * @param start index of the piece's space
+     * @param targets bitboard of the spaces it moves to
+     * @param moves list the moves are added to
+     */
+    private void addMoves(Piece piece, int start, long targets,
+                          MoveList moves) {
+        int flags = 0;
+        if (piece instanceof Pawn && ((Pawn) piece).getIsFirstMove()) {
+            flags = FIRST_MOVE_FLAG;
+        }
+        while (targets != 0) {
+            int end = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            Piece captured = chessboard.at(end);
+            if (captured == null) {
+                moves.add(encode(start, end, piece.typeIndex(), NO_PIECE, flags));
+            } else {
+                moves.add(encode(start, end, piece.typeIndex(),
+                        captured.typeIndex(), flags | CAPTURE_FLAG));
+            }
+        }
+    }
+
+    /**
+     * Determines if a type of piece slides along its lines, so that its
+     * attacks can be blocked
+     * @param typeIndex type of piece (see Constants for possible values)
+     * @return true for Rooks, Bishops and Queens
+     */
+    private static boolean isSlider(int typeIndex) {
+        return typeIndex == ROOK_TYPE_INDEX || typeIndex == BISHOP_TYPE_INDEX ||
+                typeIndex == QUEEN_TYPE_INDEX;
+    }
+
+    /**
+     * Finds and returns the King for a particular color, which the
+     * board keeps track of as pieces move and are captured
+     * @param color color of the King we are finding
+     * @return the King of a certain color (null if there is none)
+     */
+    private Piece findKing(int color) {
+        return chessboard.getKing(color);
     }
 
     /**
@@ -2,7 +2,6 @@ package com.zberman2.DataManager;
 
 import com.zberman2.Pieces.Pawn;
 import com.zberman2.Pieces.Piece;
-import javafx.util.Pair;
 
 /**
  * Class describing a Move object
@@ -13,20 +12,19 @@ import javafx.util.Pair;
 public class Move {
     Piece piece;
     Piece captured;
-    Pair<Character, Integer> startPosition;
-    Pair<Character, Integer> endPosition;
+    int startPosition; // (file, rank) coordinates packed into Squares
+    int endPosition;
 
     /**
      * Constructor for a Move object
      * @param piece Piece that is moving
      * @param captured Piece being captured (null if no capture
      *                 is taking place)
-     * @param startPosition beginning (char, int) pair
-     * @param endPosition end (char, int) pair
+     * @param startPosition beginning (file, rank) packed into a Square
+     * @param endPosition end (file, rank) packed into a Square
      */
     public Move(Piece piece, Piece captured,
-                Pair<Character, Integer> startPosition,
-                Pair<Character, Integer> endPosition) {
+                int startPosition, int endPosition) {
         this.piece = piece;
         this.captured = captured;
         this.startPosition = startPosition;
@@ -34,9 +32,33 @@ public class Move {
     }
 
     /**
-     * Reverts the move
+     * Reverts the move, and passes the turn back to the side
+     * that made it
      */
     public void undo() {
+        revert();
+        Board board = piece.getBoard();
+        if (board != null) { board.switchSides(); }
+    }
+
+    /**
+     * Returns the pieces to where they stood before the move, without
+     * changing whose turn it is. Used to take back the trial moves
+     * made while testing whether a move is legal.
+     */
+    void revert() {
+        revert(piece, captured, startPosition);
+    }
+
+    /**
+     * Returns a moved piece to its starting position, and puts back the
+     * piece it captured. Shared with Master.canMove, whose trial moves
+     * are taken back without creating a Move.
+     * @param piece Piece that moved
+     * @param captured Piece that was captured (null if none)
+     * @param startPosition (file, rank) square the piece moved from
+     */
+    static void revert(Piece piece, Piece captured, int startPosition) {
         // move piece to its original position
         piece.move(startPosition);
         if (captured != null) {
@@ -0,0 +1,77 @@
+package com.zberman2.DataManager;
+
+import java.util.Arrays;
+
+/**
+ * Class describing a list of packed moves (see the Moves class) stored
+ * in a primitive array. A list can be cleared and refilled without
+ * allocating, so callers can keep one around instead of building a new
+ * ArrayList for every move list. The same kind of list also holds the
+ * packed squares (see the Square class) a piece enumerates as targets.
+ */
+public class MoveList {
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private int[] moves;
+    private int size = 0;
+
+    /**
+     * Constructor for an empty list with room for the moves of
+     * any ordinary position
+     */
+    public MoveList() { this(DEFAULT_CAPACITY); }
+
+    /**
+     * Constructor for an empty list with a given starting capacity
+     * @param capacity number of moves the list can hold before growing
+     */
+    public MoveList(int capacity) { moves = new int[capacity]; }
+
+    /**
+     * Adds a move to the end of the list
+     * @param move packed move
+     */
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    /**
+     * Getter for a move in the list
+     * @param i position in the list
+     * @return packed move
+     */
+    public int get(int i) { return moves[i]; }
+
+    /**
+     * Replaces a move in the list
+     * @param i position in the list
+     * @param move packed move
+     */
+    public void set(int i, int move) { moves[i] = move; }
+
+    /**
+     * Getter for the number of moves in the list
+     * @return size
+     */
+    public int size() { return size; }
+
+    /**
+     * Determines if the list has no moves
+     * @return true if the list is empty
+     */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Removes the moves after the first few, keeping the list's capacity
+     * @param size number of moves to keep, at most the current size
+     */
+    public void truncate(int size) { this.size = size; }
+
+    /**
+     * Removes every move from the list, keeping its capacity
+     */
+    public void clear() { size = 0; }
+}
@@ -0,0 +1,54 @@
+package com.zberman2.DataManager;
+
+/**
+ * Class describing a stack of move lists, one for each ply of a tree
+ * walk (perft, a search, looking for a mate). The lists are made once
+ * and handed out again every time the walk comes back to the same ply,
+ * so a walk that keeps within the depth it was made for allocates
+ * nothing while it runs.
+ */
+public class MoveStack {
+    private MoveList[] lists;
+
+    /**
+     * Constructor for a stack with a list for each of the first plies
+     * @param depth number of plies to make lists for up front
+     */
+    public MoveStack(int depth) {
+        lists = new MoveList[0];
+        ensureDepth(depth);
+    }
+
+    /**
+     * Returns the emptied move list of a ply, to be filled by the
+     * caller (e.g. with Master.moveList(color, moves))
+     * @param ply number of moves made since the root of the walk
+     * @return empty list owned by that ply
+     */
+    public MoveList get(int ply) {
+        ensureDepth(ply + 1);
+        MoveList moves = lists[ply];
+        moves.clear();
+        return moves;
+    }
+
+    /**
+     * Makes sure there is a list for every ply up to a given depth,
+     * keeping the lists which already exist
+     * @param depth number of plies
+     */
+    public void ensureDepth(int depth) {
+        if (lists.length >= depth) return;
+        MoveList[] newLists = new MoveList[depth];
+        for (int ply = 0; ply < depth; ply++) {
+            newLists[ply] = (ply < lists.length) ? lists[ply] : new MoveList();
+        }
+        lists = newLists;
+    }
+
+    /**
+     * Getter for the number of plies the stack has lists for
+     * @return depth
+     */
+    public int getDepth() { return lists.length; }
+}
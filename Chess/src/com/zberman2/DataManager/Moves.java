@@ -0,0 +1,101 @@
+package com.zberman2.DataManager;
+
+/**
+ * Class describing the packed int representation of a move, which
+ * lets move lists be stored in primitive arrays instead of allocating
+ * a Move and a pair of coordinates for every candidate move.
+ *
+ * bits  0 -  7: index of the starting space (see Board.index)
+ * bits  8 - 15: index of the ending space
+ * bits 16 - 19: type index of the moving piece (see Constants)
+ * bits 20 - 23: type index of the captured piece (NO_PIECE if none)
+ * bits 24 - 27: flags
+ *
+ * Space indexes are 8 bits, so boards of up to MAX_SPACES spaces are
+ * supported; the Board constructors reject larger boards.
+ */
+public final class Moves {
+    public static final int NO_MOVE = 0;
+    public static final int NO_PIECE = 0xF;
+    public static final int MAX_SPACES = 256;
+
+    // flags
+    public static final int CAPTURE_FLAG = 1;    // an opposing piece is taken
+    public static final int FIRST_MOVE_FLAG = 2; // the Pawn has not moved yet
+
+    /**
+     * Packs a move into an int
+     * @param start index of the starting space
+     * @param end index of the ending space
+     * @param movedType type index of the moving piece
+     * @param capturedType type index of the captured piece, or NO_PIECE
+     * @param flags combination of the flags above
+     * @return packed move
+     */
+    public static int encode(int start, int end, int movedType,
+                             int capturedType, int flags) {
+        return start | (end << 8) | (movedType << 16) |
+                (capturedType << 20) | (flags << 24);
+    }
+
+    /**
+     * Returns the index of the space the piece moves from
+     * @param move packed move
+     * @return starting space index
+     */
+    public static int start(int move) { return move & 0xFF; }
+
+    /**
+     * Returns the index of the space the piece moves to
+     * @param move packed move
+     * @return ending space index
+     */
+    public static int end(int move) { return (move >>> 8) & 0xFF; }
+
+    /**
+     * Returns the type of the moving piece
+     * @param move packed move
+     * @return type index (see Constants for possible values)
+     */
+    public static int movedType(int move) { return (move >>> 16) & 0xF; }
+
+    /**
+     * Returns the type of the captured piece
+     * @param move packed move
+     * @return type index, or NO_PIECE if nothing is captured
+     */
+    public static int capturedType(int move) { return (move >>> 20) & 0xF; }
+
+    /**
+     * Returns the flags of the move
+     * @param move packed move
+     * @return combination of CAPTURE_FLAG and FIRST_MOVE_FLAG
+     */
+    public static int flags(int move) { return (move >>> 24) & 0xF; }
+
+    /**
+     * Determines if the move captures an opposing piece
+     * @param move packed move
+     * @return true for captures
+     */
+    public static boolean isCapture(int move) {
+        return (flags(move) & CAPTURE_FLAG) != 0;
+    }
+
+    /**
+     * Returns a readable version of a move, such as "e2e4"
+     * @param move packed move
+     * @param board board the move is played on
+     * @return the starting and ending coordinates
+     */
+    public static String toString(int move, Board board) {
+        return "" + board.fileOf(start(move)) + board.rankOf(start(move)) +
+                board.fileOf(end(move)) + board.rankOf(end(move));
+    }
+
+    private Moves() {
+        // this prevents even the native class from calling
+        // this constructor
+        throw new AssertionError();
+    }
+}
@@ -0,0 +1,78 @@
+package com.zberman2.DataManager;
+
+import static com.zberman2.DataManager.Constants.*;
+
+/**
+ * Class containing the worth of every (color, type, space) a piece can
+ * have on a board of particular dimensions: the worth of the type of
+ * piece plus a bonus for where it stands. Pieces gain their type's
+ * center weight for each space they stand away from the nearest edge,
+ * and Pawns also gain for each rank they have advanced.
+ *
+ * A Board given a table keeps the sum of its pieces' entries for each
+ * color up to date as pieces come and go, the same way it keeps its
+ * hash, so the sum never has to be recomputed. The entries never change
+ * once the table is made, so boards searched on different threads can
+ * share one.
+ */
+public final class PieceSquareTable {
+    private final int xDimension;
+    private final int yDimension;
+    private final int[][][] scores; // [color][type index][space index]
+
+    /**
+     * Constructor which works out every entry of the table
+     * @param xDimension number of files of the board
+     * @param yDimension number of ranks of the board
+     * @param values worth of each type of piece (by type index)
+     * @param centerWeights bonus of each type of piece (by type index)
+     *                      for each space it stands away from the edge
+     * @param pawnAdvanceWeight bonus of a Pawn for each rank it has
+     *                          advanced
+     */
+    public PieceSquareTable(int xDimension, int yDimension, int[] values,
+                            int[] centerWeights, int pawnAdvanceWeight) {
+        this.xDimension = xDimension;
+        this.yDimension = yDimension;
+        scores = new int[2][NUMBER_OF_PIECE_TYPES][xDimension * yDimension];
+        for (int index = 0; index < xDimension * yDimension; index++) {
+            int x = index % xDimension;
+            int y = index / xDimension;
+            int center = Math.min(Math.min(x, xDimension - 1 - x),
+                    Math.min(y, yDimension - 1 - y));
+            for (int type = 0; type < NUMBER_OF_PIECE_TYPES; type++) {
+                for (int color = BLACK; color <= WHITE; color++) {
+                    int score = values[type] + centerWeights[type] * center;
+                    if (type == PAWN_TYPE_INDEX) {
+                        // Pawns start on the second rank from their side
+                        int advanced = (color == WHITE) ? y - 1 :
+                                yDimension - 2 - y;
+                        score += pawnAdvanceWeight * Math.max(0, advanced);
+                    }
+                    scores[color][type][index] = score;
+                }
+            }
+        }
+    }
+
+    /**
+     * Determines if the table was made for a board of given dimensions
+     * @param xDimension number of files of the board
+     * @param yDimension number of ranks of the board
+     * @return true if the table covers every space of the board
+     */
+    public boolean fits(int xDimension, int yDimension) {
+        return this.xDimension == xDimension && this.yDimension == yDimension;
+    }
+
+    /**
+     * Returns the worth of a piece standing on a space
+     * @param color white or black
+     * @param typeIndex type of piece (see Constants for possible values)
+     * @param index index of the space
+     * @return worth of the piece on that space, in centipawns
+     */
+    public int score(int color, int typeIndex, int index) {
+        return scores[color][typeIndex][index];
+    }
+}
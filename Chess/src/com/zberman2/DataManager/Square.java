@@ -0,0 +1,53 @@
+package com.zberman2.DataManager;
+
+/**
+ * Class describing the packed int representation of a (file, rank)
+ * coordinate pair, used by pieces and moves to store their positions
+ * without allocating objects. Unlike Board.index, a square does not
+ * depend on the size of the board:
+ *
+ * bits 0 - 3: file ('a' through 'p')
+ * bits 4 - 7: rank minus one (1 through 16)
+ */
+public final class Square {
+    public static final int MAX_DIMENSION = 16;
+
+    /**
+     * Packs a (file, rank) coordinate pair into a square
+     * @param file file coordinate
+     * @param rank rank coordinate
+     * @return packed square
+     */
+    public static int of(char file, int rank) {
+        return ((rank - 1) << 4) | (file - 'a');
+    }
+
+    /**
+     * Returns the file coordinate of a square
+     * @param square packed square
+     * @return file coordinate
+     */
+    public static char file(int square) { return (char) ('a' + (square & 0xF)); }
+
+    /**
+     * Returns the rank coordinate of a square
+     * @param square packed square
+     * @return rank coordinate
+     */
+    public static int rank(int square) { return (square >> 4) + 1; }
+
+    /**
+     * Returns a readable version of a square, such as "e4"
+     * @param square packed square
+     * @return file and rank
+     */
+    public static String toString(int square) {
+        return "" + file(square) + rank(square);
+    }
+
+    private Square() {
+        // this prevents even the native class from calling
+        // this constructor
+        throw new AssertionError();
+    }
+}
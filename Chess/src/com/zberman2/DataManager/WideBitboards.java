@@ -0,0 +1,211 @@
+package com.zberman2.DataManager;
+
+import java.util.HashMap;
+
+import static com.zberman2.DataManager.Constants.BLACK;
+import static com.zberman2.DataManager.Constants.WHITE;
+
+/**
+ * Class containing the precomputed attack tables for boards with more
+ * than 64 spaces (e.g. 10x10 or 12x12), whose spaces don't fit in a
+ * single long. Every set of spaces is a multi-word bitset (see the
+ * Bitset class), indexed like the bitboards of the Bitboards class.
+ * Boards of the same size share one instance.
+ *
+ * Magic multiplication doesn't work across words, so the sliding pieces
+ * use rays instead: the first occupied space on a ray is the blocker,
+ * found by scanning the ray's words upward for the directions in which
+ * the index grows and downward for the others.
+ */
+public final class WideBitboards {
+    // directions (x, y) of the rays, the Rook's first and then the
+    // Bishop's, each with its index growing (positive) direction first
+    public static final int[][] RAY_DIRECTIONS = {{1, 0}, {-1, 0},
+            {0, 1}, {0, -1}, {1, 1}, {-1, -1}, {-1, 1}, {1, -1}};
+    public static final int NUMBER_OF_ROOK_RAYS = 4;
+
+    private static final int[][] KNIGHT_JUMPS = {{1, 2}, {2, 1}, {2, -1},
+            {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+    private static final int[][] KING_STEPS = {{1, 0}, {1, 1}, {0, 1},
+            {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}};
+    private static final int[][] DUKE_JUMPS = {{2, 0}, {2, 2}, {0, 2},
+            {-2, 2}, {-2, 0}, {-2, -2}, {0, -2}, {2, -2}};
+
+    // tables which have already been computed, keyed by board dimensions
+    private static final HashMap<Integer, WideBitboards> tables =
+            new HashMap<Integer, WideBitboards>();
+
+    private final int xDimension;
+    private final int yDimension;
+
+    // attacks of the leaping pieces from each space
+    private final long[][] knightAttacks;
+    private final long[][] kingAttacks;
+    private final long[][] dukeAttacks;   // shared by the Duke and the Ghost
+    private final long[][][] pawnAttacks; // [color][space]
+    // every space on a rank, file or diagonal with each space (the
+    // Zack jumps over pieces, so these are also its attacks)
+    private final long[][] lineAttacks;
+    // spaces on each ray from each space, not including the space
+    private final long[][][] rays;        // [direction][space]
+
+    /**
+     * Returns the tables for a board of the given size
+     * @param xDimension spaces in the x direction
+     * @param yDimension spaces in the y direction
+     * @return tables for the board, or null if the board fits in
+     *         ordinary bitboards or has more spaces than a move can
+     *         address (see Moves.MAX_SPACES)
+     */
+    public static synchronized WideBitboards forDimensions(int xDimension,
+                                                           int yDimension) {
+        int spaces = xDimension * yDimension;
+        if (spaces <= Bitboards.MAX_SPACES || spaces > Moves.MAX_SPACES) {
+            return null;
+        }
+        Integer key = (xDimension << 16) | yDimension;
+        WideBitboards bitboards = tables.get(key);
+        if (bitboards == null) {
+            bitboards = new WideBitboards(xDimension, yDimension);
+            tables.put(key, bitboards);
+        }
+        return bitboards;
+    }
+
+    /**
+     * Constructor which computes the tables for a board of the given size
+     * @param xDimension spaces in the x direction
+     * @param yDimension spaces in the y direction
+     */
+    private WideBitboards(int xDimension, int yDimension) {
+        this.xDimension = xDimension;
+        this.yDimension = yDimension;
+        int spaces = xDimension * yDimension;
+        knightAttacks = new long[spaces][];
+        kingAttacks = new long[spaces][];
+        dukeAttacks = new long[spaces][];
+        pawnAttacks = new long[2][spaces][];
+        lineAttacks = new long[spaces][];
+        rays = new long[RAY_DIRECTIONS.length][spaces][];
+        int[][] whitePawnCaptures = {{1, 1}, {-1, 1}};
+        int[][] blackPawnCaptures = {{1, -1}, {-1, -1}};
+        for (int start = 0; start < spaces; start++) {
+            knightAttacks[start] = leaperAttacks(start, KNIGHT_JUMPS);
+            kingAttacks[start] = leaperAttacks(start, KING_STEPS);
+            dukeAttacks[start] = leaperAttacks(start, DUKE_JUMPS);
+            pawnAttacks[WHITE][start] = leaperAttacks(start, whitePawnCaptures);
+            pawnAttacks[BLACK][start] = leaperAttacks(start, blackPawnCaptures);
+            lineAttacks[start] = Bitset.create(spaces);
+            for (int direction = 0; direction < RAY_DIRECTIONS.length; direction++) {
+                rays[direction][start] = ray(start, RAY_DIRECTIONS[direction]);
+                for (int word = 0; word < lineAttacks[start].length; word++) {
+                    lineAttacks[start][word] |= rays[direction][start][word];
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the spaces a leaping piece on a space can reach
+     * @param start index of the starting space
+     * @param jumps (x, y) offsets of the piece's jumps
+     * @return bitset of the spaces reached
+     */
+    private long[] leaperAttacks(int start, int[][] jumps) {
+        long[] attacks = Bitset.create(xDimension * yDimension);
+        for (int[] jump : jumps) {
+            int x = start % xDimension + jump[0];
+            int y = start / xDimension + jump[1];
+            if (x >= 0 && x < xDimension && y >= 0 && y < yDimension) {
+                Bitset.set(attacks, y * xDimension + x);
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Collects the spaces from a space to the edge of the board in
+     * one direction
+     * @param start index of the starting space
+     * @param direction (x, y) direction of the ray
+     * @return bitset of the spaces on the ray
+     */
+    private long[] ray(int start, int[] direction) {
+        long[] ray = Bitset.create(xDimension * yDimension);
+        int x = start % xDimension + direction[0];
+        int y = start / xDimension + direction[1];
+        while (x >= 0 && x < xDimension && y >= 0 && y < yDimension) {
+            Bitset.set(ray, y * xDimension + x);
+            x += direction[0];
+            y += direction[1];
+        }
+        return ray;
+    }
+
+    /**
+     * Returns the first occupied space on a ray, which blocks a sliding
+     * piece moving along it
+     * @param direction index of the ray's direction in RAY_DIRECTIONS
+     * @param index index of the starting space
+     * @param occupied bitset of the occupied spaces
+     * @return index of the blocker, -1 if the ray is clear to the edge
+     */
+    public int blocker(int direction, int index, long[] occupied) {
+        // even directions are the ones in which the index grows
+        if (direction % 2 == 0) {
+            return Bitset.firstOfBoth(rays[direction][index], occupied);
+        }
+        return Bitset.lastOfBoth(rays[direction][index], occupied);
+    }
+
+    /**
+     * Returns the spaces a Knight attacks
+     * @param index index of the Knight's space
+     * @return bitset of the spaces attacked (not to be changed)
+     */
+    public long[] knightAttacks(int index) { return knightAttacks[index]; }
+
+    /**
+     * Returns the spaces a King attacks
+     * @param index index of the King's space
+     * @return bitset of the spaces attacked (not to be changed)
+     */
+    public long[] kingAttacks(int index) { return kingAttacks[index]; }
+
+    /**
+     * Returns the spaces a Duke or a Ghost attacks
+     * @param index index of the piece's space
+     * @return bitset of the spaces attacked (not to be changed)
+     */
+    public long[] dukeAttacks(int index) { return dukeAttacks[index]; }
+
+    /**
+     * Returns the spaces a Pawn attacks (diagonally forward)
+     * @param color color of the Pawn
+     * @param index index of the Pawn's space
+     * @return bitset of the spaces attacked (not to be changed)
+     */
+    public long[] pawnAttacks(int color, int index) {
+        return pawnAttacks[color][index];
+    }
+
+    /**
+     * Returns every space on a rank, file or diagonal with a space,
+     * which are the spaces a Zack attacks since it jumps over pieces
+     * @param index index of the space
+     * @return bitset of the spaces in line (not to be changed)
+     */
+    public long[] lineAttacks(int index) { return lineAttacks[index]; }
+
+    /**
+     * Getter for the x dimension of the board these tables describe
+     * @return xDimension
+     */
+    public int getXDimension() { return xDimension; }
+
+    /**
+     * Getter for the y dimension of the board these tables describe
+     * @return yDimension
+     */
+    public int getYDimension() { return yDimension; }
+}
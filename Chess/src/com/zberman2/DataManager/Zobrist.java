@@ -0,0 +1,75 @@
+package com.zberman2.DataManager;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static com.zberman2.DataManager.Constants.NUMBER_OF_PIECE_TYPES;
+
+/**
+ * Class containing the random keys used to hash a position on a board
+ * of a particular number of spaces. The hash of a position is the XOR
+ * of the key for every (color, type, space) of an uncaptured piece, and
+ * the side key if it is Black's turn. Since XOR is its own inverse, the
+ * Board can update the hash as pieces come and go instead of
+ * recomputing it. Boards with the same number of spaces share one
+ * instance, and the keys are the same every time the program runs.
+ */
+public final class Zobrist {
+    private static final long SEED = 0x5DEECE66DL;
+
+    // keys which have already been generated, keyed by number of spaces
+    private static final HashMap<Integer, Zobrist> tables =
+            new HashMap<Integer, Zobrist>();
+
+    private final long[][][] pieceKeys; // [color][type index][space index]
+    private final long sideKey;
+
+    /**
+     * Returns the keys for a board with the given number of spaces
+     * @param spaces number of spaces on the board
+     * @return keys for the board
+     */
+    public static synchronized Zobrist forSpaces(int spaces) {
+        Zobrist zobrist = tables.get(spaces);
+        if (zobrist == null) {
+            zobrist = new Zobrist(spaces);
+            tables.put(spaces, zobrist);
+        }
+        return zobrist;
+    }
+
+    /**
+     * Constructor which generates the keys from a fixed seed
+     * @param spaces number of spaces on the board
+     */
+    private Zobrist(int spaces) {
+        Random random = new Random(SEED);
+        pieceKeys = new long[2][NUMBER_OF_PIECE_TYPES][spaces];
+        for (int color = 0; color < 2; color++) {
+            for (int type = 0; type < NUMBER_OF_PIECE_TYPES; type++) {
+                for (int index = 0; index < spaces; index++) {
+                    pieceKeys[color][type][index] = random.nextLong();
+                }
+            }
+        }
+        sideKey = random.nextLong();
+    }
+
+    /**
+     * Returns the key for a piece standing on a space
+     * @param color white or black
+     * @param typeIndex type of piece (see Constants for possible values)
+     * @param index index of the space
+     * @return key for the piece on that space
+     */
+    public long pieceKey(int color, int typeIndex, int index) {
+        return pieceKeys[color][typeIndex][index];
+    }
+
+    /**
+     * Returns the key which is included in the hash when it is
+     * Black's turn
+     * @return side to move key
+     */
+    public long sideKey() { return sideKey; }
+}
@@ -0,0 +1,126 @@
+package com.zberman2.Engine;
+
+import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.PieceSquareTable;
+
+import static com.zberman2.DataManager.Constants.*;
+
+/**
+ * Class which scores a position for the search, in centipawns (hundredths
+ * of a Pawn) from the point of view of one side. Every piece is worth the
+ * value of its type plus a bonus for where it stands (see the
+ * PieceSquareTable class), and the score is the worth of that side's
+ * uncaptured pieces minus the worth of its opponent's.
+ *
+ * The Board keeps each side's worth up to date as pieces move, are
+ * captured and are restored, so scoring a position is a subtraction
+ * rather than a pass over every piece. The table is made from the values
+ * and weights of this class the first time a board is scored; changing
+ * any of them makes a new table, which boards switch to the next time
+ * they are scored.
+ */
+public class Evaluation {
+    // default worth of each type of piece (by type index): Pawn, Knight,
+    // Bishop, Rook, Queen, King, Duke, Ghost, Zack. The King can't be
+    // captured, so it counts for nothing.
+    public static final int[] DEFAULT_VALUES =
+            {100, 300, 320, 500, 900, 0, 350, 350, 800};
+    // default bonus of each type of piece (by type index) for each space
+    // it stands away from the edge of the board. The short-range pieces
+    // gain the most from the center; the King is safer at the edge.
+    public static final int[] DEFAULT_CENTER_WEIGHTS =
+            {0, 10, 5, 0, 3, -10, 8, 8, 3};
+    // default bonus of a Pawn for each rank it has advanced
+    public static final int DEFAULT_PAWN_ADVANCE_WEIGHT = 5;
+
+    private final int[] values = DEFAULT_VALUES.clone();
+    private final int[] centerWeights = DEFAULT_CENTER_WEIGHTS.clone();
+    private int pawnAdvanceWeight = DEFAULT_PAWN_ADVANCE_WEIGHT;
+    // made from the values and weights, null once they have changed
+    private volatile PieceSquareTable table;
+
+    /**
+     * Setter for the worth of a type of piece
+     * @param typeIndex type of piece (see Constants for possible values)
+     * @param value worth of the piece in centipawns
+     */
+    public void setValue(int typeIndex, int value) {
+        values[typeIndex] = value;
+        table = null;
+    }
+
+    /**
+     * Getter for the worth of a type of piece
+     * @param typeIndex type of piece (see Constants for possible values)
+     * @return worth of the piece in centipawns
+     */
+    public int getValue(int typeIndex) { return values[typeIndex]; }
+
+    /**
+     * Setter for the bonus of a type of piece for each space it stands
+     * away from the edge of the board
+     * @param typeIndex type of piece (see Constants for possible values)
+     * @param weight bonus in centipawns, negative to keep it at the edge
+     */
+    public void setCenterWeight(int typeIndex, int weight) {
+        centerWeights[typeIndex] = weight;
+        table = null;
+    }
+
+    /**
+     * Getter for the bonus of a type of piece for each space it stands
+     * away from the edge of the board
+     * @param typeIndex type of piece (see Constants for possible values)
+     * @return bonus in centipawns
+     */
+    public int getCenterWeight(int typeIndex) { return centerWeights[typeIndex]; }
+
+    /**
+     * Setter for the bonus of a Pawn for each rank it has advanced
+     * @param weight bonus in centipawns
+     */
+    public void setPawnAdvanceWeight(int weight) {
+        pawnAdvanceWeight = weight;
+        table = null;
+    }
+
+    /**
+     * Getter for the bonus of a Pawn for each rank it has advanced
+     * @return bonus in centipawns
+     */
+    public int getPawnAdvanceWeight() { return pawnAdvanceWeight; }
+
+    /**
+     * Scores the position on a board, giving the board this evaluation's
+     * table first if it doesn't have it yet
+     * @param board board holding the position
+     * @param color side the score is for
+     * @return worth of color's pieces minus worth of its opponent's
+     */
+    public int evaluate(Board board, int color) {
+        PieceSquareTable current = tableFor(board);
+        if (board.getPieceSquareTable() != current) {
+            board.setPieceSquareTable(current);
+        }
+        return board.getScore(color) - board.getScore(1 - color);
+    }
+
+    /**
+     * Returns the table for a board's dimensions, making it if the
+     * values or weights have changed or the last table was for a board
+     * of another size
+     * @param board board to be scored
+     * @return table made from the current values and weights
+     */
+    private PieceSquareTable tableFor(Board board) {
+        PieceSquareTable current = table;
+        if (current == null ||
+                !current.fits(board.getXDimension(), board.getYDimension())) {
+            current = new PieceSquareTable(board.getXDimension(),
+                    board.getYDimension(), values, centerWeights,
+                    pawnAdvanceWeight);
+            table = current;
+        }
+        return current;
+    }
+}
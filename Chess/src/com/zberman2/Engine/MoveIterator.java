@@ -0,0 +1,153 @@
+package com.zberman2.Engine;
+
+import com.zberman2.DataManager.Master;
+import com.zberman2.DataManager.MoveList;
+
+import static com.zberman2.DataManager.Moves.*;
+
+/**
+ * Class which hands out the legal moves of a position one at a time, in
+ * the order a search most wants to try them: the hash move (the best move
+ * found the last time this position was searched), then the captures with
+ * the most valuable victim taken by the least valuable attacker first
+ * (MVV-LVA), then every other move.
+ *
+ * Each stage is only generated once the previous one runs out, so a
+ * search that cuts off after the hash move or a capture never generates
+ * the quiet moves at all. The quiescence search only asks for the
+ * captures (resetCaptures).
+ */
+public class MoveIterator {
+    // stages the iterator goes through, in order
+    private static final int HASH_MOVE = 0, GENERATE_CAPTURES = 1,
+            CAPTURES = 2, GENERATE_QUIETS = 3, QUIETS = 4, DONE = 5;
+
+    // rough worth of each type of piece (by type index) for ordering
+    // captures: Pawn, Knight, Bishop, Rook, Queen, King, Duke, Ghost, Zack
+    private static final int[] ORDER_VALUES = {1, 3, 3, 5, 9, 100, 4, 4, 8};
+
+    private Master master;
+    private MoveList moves = new MoveList(); // moves of the current stage
+    private int color;    // side whose moves are handed out
+    private int hashMove; // tried first, then skipped (NO_MOVE if none)
+    private boolean capturesOnly; // stop once the captures run out
+    private int stage = DONE;
+    private int next;     // position in moves of the next move to hand out
+
+    /**
+     * Constructor for an iterator over the moves on a master's board
+     * @param master master controlling the board
+     */
+    public MoveIterator(Master master) { this.master = master; }
+
+    /**
+     * Starts handing out the moves of the current position
+     * @param color white or black
+     * @param hashMove move to try first, NO_MOVE if there is none. It is
+     *                 skipped if it isn't legal in this position.
+     */
+    public void reset(int color, int hashMove) {
+        this.color = color;
+        this.hashMove = hashMove;
+        this.capturesOnly = false;
+        this.stage = HASH_MOVE;
+        moves.clear();
+        next = 0;
+    }
+
+    /**
+     * Starts handing out the legal captures of the current position,
+     * and no other moves
+     * @param color white or black
+     */
+    public void resetCaptures(int color) {
+        this.color = color;
+        this.hashMove = NO_MOVE;
+        this.capturesOnly = true;
+        this.stage = GENERATE_CAPTURES;
+        moves.clear();
+        next = 0;
+    }
+
+    /**
+     * Returns the next move to try
+     * @return packed move, NO_MOVE once every legal move was handed out
+     */
+    public int next() {
+        while (true) {
+            switch (stage) {
+                case HASH_MOVE:
+                    stage = GENERATE_CAPTURES;
+                    if (hashMove != NO_MOVE && master.isLegal(color, hashMove)) {
+                        return hashMove;
+                    }
+                    hashMove = NO_MOVE;
+                    break;
+                case GENERATE_CAPTURES:
+                    moves.clear();
+                    next = 0;
+                    master.captureList(color, moves);
+                    stage = CAPTURES;
+                    break;
+                case CAPTURES:
+                    if (next == moves.size()) {
+                        stage = capturesOnly ? DONE : GENERATE_QUIETS;
+                        break;
+                    }
+                    int capture = pickBestCapture();
+                    if (capture != hashMove) { return capture; }
+                    break;
+                case GENERATE_QUIETS:
+                    moves.clear();
+                    next = 0;
+                    master.quietList(color, moves);
+                    stage = QUIETS;
+                    break;
+                case QUIETS:
+                    if (next == moves.size()) {
+                        stage = DONE;
+                        break;
+                    }
+                    int quiet = moves.get(next++);
+                    if (quiet != hashMove) { return quiet; }
+                    break;
+                default:
+                    return NO_MOVE;
+            }
+        }
+    }
+
+    /**
+     * Swaps the best remaining capture to the front of the remaining
+     * captures and hands it out. Only the captures actually handed out
+     * get sorted, which is cheap when the search cuts off early.
+     * @return best remaining capture
+     */
+    private int pickBestCapture() {
+        int best = next;
+        int bestScore = score(moves.get(best));
+        for (int i = next + 1; i < moves.size(); i++) {
+            int candidate = score(moves.get(i));
+            if (candidate > bestScore) {
+                best = i;
+                bestScore = candidate;
+            }
+        }
+        int move = moves.get(best);
+        moves.set(best, moves.get(next));
+        moves.set(next++, move);
+        return move;
+    }
+
+    /**
+     * Returns the MVV-LVA score of a capture: taking a more valuable
+     * piece is always better, and among those using a cheaper piece is
+     * better
+     * @param move packed capture
+     * @return score, higher is tried first
+     */
+    private static int score(int move) {
+        return ORDER_VALUES[capturedType(move)] * 128 -
+                ORDER_VALUES[movedType(move)];
+    }
+}
@@ -0,0 +1,161 @@
+package com.zberman2.Engine;
+
+import com.zberman2.DataManager.Master;
+import com.zberman2.DataManager.MoveList;
+import com.zberman2.DataManager.Moves;
+
+import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Class which counts positions like Perft, but splits the first plies of
+ * the tree into tasks run by a fork/join pool. Pieces are changed as
+ * moves are made, so every task works on its own copy of the board, and
+ * idle threads steal tasks from busy ones.
+ */
+public class ParallelPerft {
+    // plies below the root which are split into tasks (deeper than this,
+    // each task counts its subtree on one thread)
+    private static final int SPLIT_PLIES = 2;
+
+    private ForkJoinPool pool;
+    private PerftTable table; // counts shared by every task (null if none)
+
+    /**
+     * Constructor which uses one thread per processor
+     */
+    public ParallelPerft() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor which uses a given number of threads
+     * @param threads number of threads counting positions
+     */
+    public ParallelPerft(int threads) {
+        pool = new ForkJoinPool(threads);
+    }
+
+    /**
+     * Constructor which uses a given number of threads, which all cache
+     * their counts in one table
+     * @param threads number of threads counting positions
+     * @param table table of counts (null to count without one)
+     */
+    public ParallelPerft(int threads, PerftTable table) {
+        this(threads);
+        this.table = table;
+    }
+
+    /**
+     * Counts the positions reachable in depth moves from the position on
+     * a master's board. The master's board is copied, never changed.
+     * @param master master controlling the board
+     * @param depth number of moves (plies) to make
+     * @return number of positions at that depth
+     */
+    public long perft(Master master, int depth) {
+        return pool.invoke(new PerftTask(master.copy(), table, depth,
+                SPLIT_PLIES));
+    }
+
+    /**
+     * Counts the positions reachable in depth moves after each legal move,
+     * and prints the counts one move per line followed by the total, the
+     * time taken and the nodes per second (see Perft.divide)
+     * @param master master controlling the board
+     * @param depth number of moves (plies) to make, at least 1
+     * @param out stream the counts are printed to
+     * @return number of positions at that depth
+     */
+    public long divide(Master master, int depth, PrintStream out) {
+        long startTime = System.nanoTime();
+        MoveList moves = new MoveList();
+        master.moveList(master.getBoard().getSideToMove(), moves);
+
+        // start a task for every root move, then collect them in order
+        PerftTask[] tasks = new PerftTask[moves.size()];
+        for (int i = 0; i < moves.size(); i++) {
+            Master copy = master.copy();
+            copy.makeMove(moves.get(i));
+            tasks[i] = new PerftTask(copy, table, depth - 1, SPLIT_PLIES - 1);
+            pool.execute(tasks[i]);
+        }
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            long subtree = tasks[i].join();
+            out.println(Moves.toString(moves.get(i), master.getBoard()) +
+                    ": " + subtree);
+            nodes += subtree;
+        }
+        long elapsed = System.nanoTime() - startTime;
+
+        out.println();
+        out.println("Moves: " + moves.size());
+        out.println("Nodes: " + nodes);
+        out.println("Threads: " + pool.getParallelism());
+        out.println("Time: " + (elapsed / 1000000) + " ms");
+        out.println("Nodes/sec: " + Perft.nodesPerSecond(nodes, elapsed));
+        return nodes;
+    }
+
+    /**
+     * Stops the threads of the pool once the counts are done
+     */
+    public void shutdown() { pool.shutdown(); }
+
+    /**
+     * Task which counts the positions below one position. Near the root
+     * it forks a task per move, each with a board copy of its own;
+     * further down it counts on the current thread.
+     */
+    private static class PerftTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private Master master; // owned by this task alone
+        private PerftTable table; // shared by every task (null if none)
+        private int depth;     // moves left to make
+        private int split;     // plies left to split into tasks
+
+        /**
+         * Constructor for a task counting below a master's position
+         * @param master master of a board no other task uses
+         * @param table table of counts (null to count without one)
+         * @param depth number of moves left to make
+         * @param split number of plies left to split into tasks
+         */
+        PerftTask(Master master, PerftTable table, int depth, int split) {
+            this.master = master;
+            this.table = table;
+            this.depth = depth;
+            this.split = split;
+        }
+
+        /**
+         * Counts the positions, forking a task per move near the root
+         * @return number of positions at the task's depth
+         */
+        @Override
+        protected Long compute() {
+            if (split <= 0 || depth <= 2) {
+                return new Perft(master, table).perft(depth);
+            }
+
+            MoveList moves = new MoveList();
+            master.moveList(master.getBoard().getSideToMove(), moves);
+            PerftTask[] tasks = new PerftTask[moves.size()];
+            for (int i = 0; i < moves.size(); i++) {
+                Master copy = master.copy();
+                copy.makeMove(moves.get(i));
+                tasks[i] = new PerftTask(copy, table, depth - 1, split - 1);
+                tasks[i].fork();
+            }
+            long nodes = 0;
+            for (int i = tasks.length - 1; i >= 0; i--) {
+                nodes += tasks[i].join();
+            }
+            return nodes;
+        }
+    }
+}
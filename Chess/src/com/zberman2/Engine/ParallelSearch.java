@@ -0,0 +1,176 @@
+package com.zberman2.Engine;
+
+import com.zberman2.DataManager.Master;
+import com.zberman2.DataManager.Moves;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class which searches for a move on several threads at once (Lazy SMP).
+ * Every thread runs an ordinary Search of the same position, and they
+ * all share one TranspositionTable, so each thread finds the results of
+ * the others there and skips work they have already done. Half of the
+ * helper threads search one ply deeper at each iteration than the main
+ * thread, so that they fill the table ahead of it instead of repeating
+ * its work.
+ *
+ * Pieces are changed as moves are made, so every thread searches its
+ * own copy of the board (Master.copy). The main thread's search decides
+ * the move; the helpers are stopped once it is done.
+ */
+public class ParallelSearch {
+    private int helpers;    // threads searching besides the main one
+    private Evaluation evaluation;
+    private TranspositionTable table; // shared by every thread
+    private Search mainSearch; // search of the last findMove
+    private long nodes;        // positions visited by every thread
+
+    /**
+     * Constructor which uses a given number of threads, all sharing
+     * one table
+     * @param threads number of threads searching, at least 1
+     * @param evaluation scores the positions at the end of the search
+     * @param table table of results shared by the threads
+     */
+    public ParallelSearch(int threads, Evaluation evaluation,
+                          TranspositionTable table) {
+        this.helpers = Math.max(1, threads) - 1;
+        this.evaluation = evaluation;
+        this.table = table;
+    }
+
+    /**
+     * Finds the best move for a side within a time budget. The master's
+     * board is copied, never changed.
+     * @param master master controlling the board
+     * @param color side to move
+     * @param millis time budget in milliseconds
+     * @return packed move (see the Moves class), NO_MOVE if the side
+     *         has no legal moves
+     */
+    public int findMove(Master master, int color, long millis) {
+        return findMove(master, color, millis, Search.MAX_PLY);
+    }
+
+    /**
+     * Finds the best move for a side, with the main thread searching no
+     * deeper than a given depth and stopping early if the time budget
+     * runs out. The master's board is copied, never changed.
+     * @param master master controlling the board
+     * @param color side to move
+     * @param millis time budget in milliseconds
+     * @param maxDepth deepest search the main thread makes
+     * @return packed move (see the Moves class), NO_MOVE if the side
+     *         has no legal moves
+     */
+    public int findMove(Master master, final int color, final long millis,
+                        int maxDepth) {
+        // one new generation for the whole move, before any thread stores
+        table.newSearch();
+        mainSearch = new Search(master.copy(), evaluation, table);
+        mainSearch.setStartsGeneration(false);
+        final Search[] helperSearches = new Search[helpers];
+        Thread[] threads = new Thread[helpers];
+        for (int i = 0; i < helpers; i++) {
+            helperSearches[i] = new Search(master.copy(), evaluation, table);
+            helperSearches[i].setStartsGeneration(false);
+            helperSearches[i].setDepthOffset((i + 1) % 2);
+            final Search helper = helperSearches[i];
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    helper.findMove(color, millis);
+                }
+            });
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+
+        int move = mainSearch.findMove(color, millis, maxDepth);
+
+        // a helper which hadn't started searching yet would clear the
+        // stop, so keep stopping each one until its thread is done
+        nodes = mainSearch.getNodes();
+        for (int i = 0; i < helpers; i++) {
+            while (threads[i].isAlive()) {
+                helperSearches[i].stop();
+                try {
+                    threads[i].join(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            nodes += helperSearches[i].getNodes();
+        }
+        return move;
+    }
+
+    /**
+     * Getter for the number of positions visited by every thread in the
+     * last findMove
+     * @return nodes
+     */
+    public long getNodes() { return nodes; }
+
+    /**
+     * Getter for the deepest search the main thread finished in the
+     * last findMove
+     * @return depth in plies
+     */
+    public int getCompletedDepth() {
+        return (mainSearch == null) ? 0 : mainSearch.getCompletedDepth();
+    }
+
+    /**
+     * Getter for the score of the move found by the last findMove
+     * @return score in centipawns for the side that moved (see
+     *         Search.getScore)
+     */
+    public int getScore() {
+        return (mainSearch == null) ? 0 : mainSearch.getScore();
+    }
+
+    /**
+     * Searches a setup to a fixed depth from the command line, printing
+     * the move, the time it took to reach that depth and the nodes per
+     * second, to measure how the search scales with threads
+     * Usage: ParallelSearch [standard|alternate] depth [threads] [hash MB]
+     * @param args the setup to search (standard if omitted), the depth,
+     *             the number of threads (1 if omitted) and the memory
+     *             for the table (Search.DEFAULT_HASH_MEGABYTES if omitted)
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println(
+                    "Usage: ParallelSearch [standard|alternate] depth [threads] [hash MB]");
+            return;
+        }
+        int arg = 0;
+        boolean standard = true;
+        if (args[0].equals("standard") || args[0].equals("alternate")) {
+            standard = args[arg++].equals("standard");
+        }
+        int depth = Integer.parseInt(args[arg++]);
+        int threads = (arg < args.length) ? Integer.parseInt(args[arg++]) : 1;
+        int megabytes = (arg < args.length) ? Integer.parseInt(args[arg]) :
+                Search.DEFAULT_HASH_MEGABYTES;
+
+        Master master = new Master(standard);
+        ParallelSearch search = new ParallelSearch(threads, new Evaluation(),
+                new TranspositionTable(megabytes));
+        long startTime = System.nanoTime();
+        int move = search.findMove(master, master.getBoard().getSideToMove(),
+                TimeUnit.DAYS.toMillis(1), depth);
+        long elapsed = System.nanoTime() - startTime;
+
+        System.out.println("Move: " + Moves.toString(move, master.getBoard()));
+        System.out.println("Score: " + search.getScore());
+        System.out.println("Depth: " + search.getCompletedDepth());
+        System.out.println("Threads: " + threads);
+        System.out.println("Nodes: " + search.getNodes());
+        System.out.println("Time: " + (elapsed / 1000000) + " ms");
+        System.out.println("Nodes/sec: " +
+                Perft.nodesPerSecond(search.getNodes(), elapsed));
+    }
+}
@@ -0,0 +1,160 @@
+package com.zberman2.Engine;
+
+import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.Master;
+import com.zberman2.DataManager.MoveList;
+import com.zberman2.DataManager.MoveStack;
+import com.zberman2.DataManager.Moves;
+
+import java.io.PrintStream;
+
+/**
+ * Class which counts the positions reachable from a position in a given
+ * number of moves (perft), to verify the move generator against known
+ * counts and to measure how fast it runs. The position is the one on the
+ * Master's board, with the side to move taken from the board.
+ */
+public class Perft {
+    private Master master;   // makes and takes back the moves
+    private Board board;     // board the positions are set up on
+    private MoveStack lists = new MoveStack(0); // one move list per ply
+    private PerftTable table; // counts already made (null if not caching)
+
+    /**
+     * Constructor which counts positions on a master's board
+     * @param master master controlling the board
+     */
+    public Perft(Master master) {
+        this.master = master;
+        this.board = master.getBoard();
+    }
+
+    /**
+     * Constructor which caches counts in a table, so that positions
+     * reached by different move orders are only counted once
+     * @param master master controlling the board
+     * @param table table of counts, which may be shared with other
+     *              Perft objects (even on other threads)
+     */
+    public Perft(Master master, PerftTable table) {
+        this(master);
+        this.table = table;
+    }
+
+    /**
+     * Counts the positions reachable in depth moves
+     * @param depth number of moves (plies) to make
+     * @return number of positions at that depth
+     */
+    public long perft(int depth) {
+        lists.ensureDepth(depth);
+        return count(depth, 0);
+    }
+
+    /**
+     * Counts the positions reachable in depth moves after each legal
+     * move of the side to move, and prints the counts one move per line
+     * followed by the total, the time taken and the nodes per second
+     * @param depth number of moves (plies) to make, at least 1
+     * @param out stream the counts are printed to
+     * @return number of positions at that depth
+     */
+    public long divide(int depth, PrintStream out) {
+        lists.ensureDepth(depth);
+        long startTime = System.nanoTime();
+        MoveList moves = lists.get(0);
+        master.moveList(board.getSideToMove(), moves);
+
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            master.makeMove(move);
+            long subtree = count(depth - 1, 1);
+            master.undoMove(move);
+            out.println(Moves.toString(move, board) + ": " + subtree);
+            nodes += subtree;
+        }
+        long elapsed = System.nanoTime() - startTime;
+
+        out.println();
+        out.println("Moves: " + moves.size());
+        out.println("Nodes: " + nodes);
+        out.println("Time: " + (elapsed / 1000000) + " ms");
+        out.println("Nodes/sec: " + nodesPerSecond(nodes, elapsed));
+        return nodes;
+    }
+
+    /**
+     * Returns the rate at which nodes were counted
+     * @param nodes number of nodes counted
+     * @param nanoseconds time taken to count them
+     * @return nodes per second
+     */
+    public static long nodesPerSecond(long nodes, long nanoseconds) {
+        return nanoseconds == 0 ? 0 : nodes * 1000000000L / nanoseconds;
+    }
+
+    /**
+     * Counts the positions reachable in depth moves from the current
+     * position. At the last ply the moves are counted without being made.
+     * @param depth number of moves left to make
+     * @param ply number of moves made so far, which picks the move list
+     * @return number of positions at that depth
+     */
+    private long count(int depth, int ply) {
+        if (depth == 0) { return 1; }
+        // a count found in the table saves generating the moves at all
+        if (table != null && depth > 1) {
+            long stored = table.probe(board.getHash(), depth);
+            if (stored >= 0) { return stored; }
+        }
+
+        MoveList moves = lists.get(ply);
+        master.moveList(board.getSideToMove(), moves);
+        if (depth == 1) { return moves.size(); }
+
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            master.makeMove(move);
+            nodes += count(depth - 1, ply + 1);
+            master.undoMove(move);
+        }
+        if (table != null) { table.store(board.getHash(), depth, nodes); }
+        return nodes;
+    }
+
+    /**
+     * Runs perft from the command line, printing the divide output
+     * Usage: Perft [standard|alternate] depth [threads] [hash MB]
+     * @param args the setup to start from (standard if omitted), the
+     *             depth, the number of threads (1 if omitted, more
+     *             counts in parallel with ParallelPerft) and the memory
+     *             for caching counts in a PerftTable (none if omitted)
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println(
+                    "Usage: Perft [standard|alternate] depth [threads] [hash MB]");
+            return;
+        }
+        int arg = 0;
+        boolean standard = true;
+        if (args[0].equals("standard") || args[0].equals("alternate")) {
+            standard = args[arg++].equals("standard");
+        }
+        int depth = Integer.parseInt(args[arg++]);
+        int threads = (arg < args.length) ? Integer.parseInt(args[arg++]) : 1;
+        PerftTable table = (arg < args.length) ?
+                new PerftTable(Integer.parseInt(args[arg])) : null;
+
+        Master master = new Master(standard);
+        if (threads > 1) {
+            ParallelPerft perft = new ParallelPerft(threads, table);
+            perft.divide(master, depth, System.out);
+            perft.shutdown();
+        } else {
+            new Perft(master, table).divide(depth, System.out);
+        }
+    }
+}
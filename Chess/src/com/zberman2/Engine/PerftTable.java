@@ -0,0 +1,97 @@
+package com.zberman2.Engine;
+
+import java.util.Arrays;
+
+/**
+ * Class describing a fixed-size cache of perft counts, keyed by the hash
+ * of a position and the depth counted below it. Positions reached by
+ * different move orders are then only counted once.
+ *
+ * The table holds a power of two number of entries, as many as fit in
+ * the memory it is given, and never grows. Entries come in pairs: the
+ * first of a pair keeps the deepest count stored there (the most work to
+ * redo), the second always takes the newest one.
+ *
+ * Each entry is two longs, the packed count and depth, and the hash XOR
+ * the packed count. A read only matches if the two agree, so threads can
+ * share the table without locks: an entry half written by another thread
+ * just looks missing.
+ *
+ * Positions are only told apart by their hash, which doesn't record
+ * whether a Pawn has moved. Pawns only move forward, so this can't matter
+ * for positions played from a setup whose Pawns all start on their first
+ * move, as the standard and alternate setups do.
+ */
+public class PerftTable {
+    private static final int ENTRY_BYTES = 16;  // two longs per entry
+    private static final int DEPTH_BITS = 8;    // count is stored above the depth
+    private static final long DEPTH_MASK = (1L << DEPTH_BITS) - 1;
+
+    private final long[] checks; // hash XOR data, 0 for an empty entry
+    private final long[] data;   // (count << DEPTH_BITS) | depth
+    private final int mask;      // number of entries - 1
+
+    /**
+     * Constructor for a table using at most a given amount of memory
+     * @param megabytes memory for the table, at least 1
+     */
+    public PerftTable(int megabytes) {
+        long bytes = Math.max(1, megabytes) * 1024L * 1024L;
+        int entries = Integer.highestOneBit(
+                (int) Math.min(bytes / ENTRY_BYTES, 1 << 30));
+        checks = new long[entries];
+        data = new long[entries];
+        mask = entries - 1;
+    }
+
+    /**
+     * Looks up the count below a position
+     * @param hash hash of the position
+     * @param depth number of moves counted below it
+     * @return number of positions at that depth, -1 if it isn't stored
+     */
+    public long probe(long hash, int depth) {
+        int index = (int) hash & mask & ~1;
+        for (int slot = index; slot <= index + 1; slot++) {
+            long entry = data[slot];
+            if ((checks[slot] ^ entry) == hash &&
+                    (entry & DEPTH_MASK) == depth) {
+                return entry >>> DEPTH_BITS;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Stores the count below a position
+     * @param hash hash of the position
+     * @param depth number of moves counted below it
+     * @param nodes number of positions at that depth
+     */
+    public void store(long hash, int depth, long nodes) {
+        int index = (int) hash & mask & ~1;
+        long entry = (nodes << DEPTH_BITS) | depth;
+        // keep the deepest count in the first slot of the pair
+        if (depth >= (data[index] & DEPTH_MASK)) {
+            data[index] = entry;
+            checks[index] = hash ^ entry;
+        } else {
+            data[index + 1] = entry;
+            checks[index + 1] = hash ^ entry;
+        }
+    }
+
+    /**
+     * Removes every stored count
+     */
+    public void clear() {
+        Arrays.fill(checks, 0);
+        Arrays.fill(data, 0);
+    }
+
+    /**
+     * Returns the number of counts the table can hold
+     * @return number of entries
+     */
+    public int getSize() { return mask + 1; }
+}
@@ -0,0 +1,360 @@
+package com.zberman2.Engine;
+
+import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.Master;
+import com.zberman2.DataManager.MoveList;
+
+import static com.zberman2.DataManager.Moves.NO_MOVE;
+import static com.zberman2.Engine.TranspositionTable.*;
+
+/**
+ * Class which picks a move for the computer with a negamax alpha-beta
+ * search. The search deepens one ply at a time (iterative deepening)
+ * until its time budget runs out, and plays the best move of the last
+ * depth it finished. The best move of each depth is searched first at
+ * the next one, so deeper searches cut off sooner.
+ *
+ * Once the depth runs out, a quiescence search keeps playing captures
+ * until the position is quiet, so that a position isn't scored in the
+ * middle of an exchange (the horizon effect). Captures which lose
+ * material by static exchange evaluation (see StaticExchange) are left
+ * out of it.
+ *
+ * Results are kept in a TranspositionTable, so a position reached again
+ * (by another move order, or at the next depth) is either scored from
+ * the table straight away or searched with its best move first.
+ *
+ * Moves are made and taken back with Master.makeMove and undoMove, and
+ * handed out by a MoveIterator per ply, so the search allocates nothing
+ * once it has started. The search changes the pieces of the master it
+ * is given while it runs, so callers pass it a copy (Master.copy) of the
+ * game they are playing.
+ */
+public class Search {
+    public static final int MAX_PLY = 64;
+    public static final int DEFAULT_HASH_MEGABYTES = 16;
+    // score of a checkmate at the root, mates further away score less
+    public static final int MATE = 100000;
+    private static final int INFINITY = MATE + 1;
+    // how often (in nodes) the clock is read
+    private static final int NODES_PER_CLOCK_CHECK = 1024;
+
+    private Master master;
+    private Board board;
+    private Evaluation evaluation;
+    private TranspositionTable table;
+    private StaticExchange exchange;
+    private MoveIterator[] iterators = new MoveIterator[MAX_PLY];
+
+    private long deadline; // System.nanoTime() at which the search stops
+    private volatile boolean stopped; // set by stop() on another thread
+    private int depthOffset; // plies added to every depth searched
+    private boolean startsGeneration = true; // see setStartsGeneration
+    private long nodes;
+    private int completedDepth;
+    private int score;     // score of the best move of completedDepth
+    private int rootBest;  // best move found so far at the current depth
+
+    /**
+     * Constructor for a search of the position on a master's board,
+     * scored with the default Evaluation and using a table of its own
+     * @param master master of a board the search may change while it
+     *               runs (it is left as it was)
+     */
+    public Search(Master master) {
+        this(master, new Evaluation(),
+                new TranspositionTable(DEFAULT_HASH_MEGABYTES));
+    }
+
+    /**
+     * Constructor for a search of the position on a master's board
+     * @param master master of a board the search may change while it
+     *               runs (it is left as it was)
+     * @param evaluation scores the positions at the end of the search
+     * @param table table of results, which may be kept from move to
+     *              move and shared with other searches
+     */
+    public Search(Master master, Evaluation evaluation,
+                  TranspositionTable table) {
+        this.master = master;
+        this.board = master.getBoard();
+        this.evaluation = evaluation;
+        this.table = table;
+        this.exchange = new StaticExchange(board, evaluation);
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            iterators[ply] = new MoveIterator(master);
+        }
+    }
+
+    /**
+     * Finds the best move for a side within a time budget
+     * @param color side to move
+     * @param millis time budget in milliseconds
+     * @return packed move (see the Moves class), NO_MOVE if the side
+     *         has no legal moves
+     */
+    public int findMove(int color, long millis) {
+        return findMove(color, millis, MAX_PLY);
+    }
+
+    /**
+     * Finds the best move for a side, searching no deeper than a given
+     * depth and stopping early if the time budget runs out. The board's
+     * side to move is set to color while searching, and put back after.
+     * @param color side to move
+     * @param millis time budget in milliseconds
+     * @param maxDepth deepest search to make, at most MAX_PLY
+     * @return packed move (see the Moves class), NO_MOVE if the side
+     *         has no legal moves
+     */
+    public int findMove(int color, long millis, int maxDepth) {
+        int previousSide = board.getSideToMove();
+        board.setSideToMove(color);
+        try {
+            return deepen(color, millis, maxDepth);
+        } finally {
+            board.setSideToMove(previousSide);
+        }
+    }
+
+    /**
+     * Searches one ply deeper at a time (see findMove), once the side
+     * to move is set
+     * @param color side to move
+     * @param millis time budget in milliseconds
+     * @param maxDepth deepest search to make, at most MAX_PLY
+     * @return packed move, NO_MOVE if the side has no legal moves
+     */
+    private int deepen(int color, long millis, int maxDepth) {
+        if (startsGeneration) { table.newSearch(); }
+        deadline = System.nanoTime() + millis * 1000000L;
+        stopped = false;
+        nodes = 0;
+        completedDepth = 0;
+        score = 0;
+
+        // fall back on any legal move if not even depth 1 finishes
+        MoveList moves = new MoveList();
+        master.moveList(color, moves);
+        if (moves.isEmpty()) return NO_MOVE;
+        int bestMove = moves.get(0);
+
+        int lastDepth = Math.min(maxDepth, MAX_PLY - 1);
+        for (int depth = 1 + depthOffset; depth <= lastDepth; depth++) {
+            rootBest = bestMove;
+            int result = negamax(color, depth, 0, -INFINITY, INFINITY);
+            if (stopped) break;
+            bestMove = rootBest;
+            score = result;
+            completedDepth = depth;
+            // no point looking deeper once a forced mate is found
+            if (Math.abs(result) >= MATE - MAX_PLY) break;
+        }
+        return bestMove;
+    }
+
+    /**
+     * Searches a position to a given depth, scoring it for the side to
+     * move. Moves which can't raise the score above alpha are not
+     * looked at further, and once a move scores beta or more the
+     * opponent would never allow the position, so the rest are skipped.
+     * @param color side to move
+     * @param depth plies left to search
+     * @param ply plies made since the root
+     * @param alpha score the side to move is already sure of
+     * @param beta score the opponent is already sure of
+     * @return score of the position, which is only an upper bound if
+     *         it is at most alpha, and only a lower bound if it is at
+     *         least beta
+     */
+    private int negamax(int color, int depth, int ply, int alpha, int beta) {
+        if ((++nodes % NODES_PER_CLOCK_CHECK) == 0 &&
+                System.nanoTime() >= deadline) {
+            stopped = true;
+        }
+        if (stopped) return 0;
+        if (depth == 0) return quiescence(color, ply, alpha, beta);
+        if (ply == MAX_PLY - 1) return evaluation.evaluate(board, color);
+
+        long hash = board.getHash();
+        int hashMove = NO_MOVE;
+        long entry = table.probe(hash);
+        if (entry != 0) {
+            hashMove = move(entry);
+            // at the root a move is needed, not just a score
+            if (ply > 0 && depth(entry) >= depth) {
+                int stored = fromTable(score(entry), ply);
+                int bound = bound(entry);
+                if (bound == EXACT ||
+                        (bound == LOWER_BOUND && stored >= beta) ||
+                        (bound == UPPER_BOUND && stored <= alpha)) {
+                    return stored;
+                }
+            }
+        }
+
+        MoveIterator moves = iterators[ply];
+        moves.reset(color, (ply == 0) ? rootBest : hashMove);
+        int originalAlpha = alpha;
+        int bestValue = -INFINITY;
+        int bestMove = NO_MOVE;
+        int move;
+        while ((move = moves.next()) != NO_MOVE) {
+            master.makeMove(move);
+            int value = -negamax(1 - color, depth - 1, ply + 1, -beta, -alpha);
+            master.undoMove(move);
+            if (stopped) return 0;
+
+            if (value > bestValue) {
+                bestValue = value;
+                bestMove = move;
+            }
+            if (value > alpha) {
+                alpha = value;
+                if (ply == 0) { rootBest = move; }
+                if (alpha >= beta) break;
+            }
+        }
+
+        if (bestMove == NO_MOVE) {
+            // checkmated (sooner is worse), or stalemated
+            return (master.isCheck(color) > 0) ? -MATE + ply : 0;
+        }
+
+        int bound;
+        if (bestValue >= beta) {
+            bound = LOWER_BOUND;
+        } else if (bestValue > originalAlpha) {
+            bound = EXACT;
+        } else {
+            // every move failed low, so none of them is known to be best
+            bound = UPPER_BOUND;
+            bestMove = NO_MOVE;
+        }
+        table.store(hash, depth, bound, toTable(bestValue, ply), bestMove);
+        return bestValue;
+    }
+
+    /**
+     * Searches only the captures of a position, until it is quiet. The
+     * side to move may also stand pat (take the evaluation as it is)
+     * rather than capture, unless it is in check, in which case every
+     * move out of check is searched instead.
+     * @param color side to move
+     * @param ply plies made since the root
+     * @param alpha score the side to move is already sure of
+     * @param beta score the opponent is already sure of
+     * @return score of the position, bounded as for negamax
+     */
+    private int quiescence(int color, int ply, int alpha, int beta) {
+        if ((++nodes % NODES_PER_CLOCK_CHECK) == 0 &&
+                System.nanoTime() >= deadline) {
+            stopped = true;
+        }
+        if (stopped) return 0;
+        if (ply == MAX_PLY - 1) return evaluation.evaluate(board, color);
+
+        boolean inCheck = master.isCheck(color) > 0;
+        int bestValue = -INFINITY;
+        MoveIterator moves = iterators[ply];
+        if (inCheck) {
+            moves.reset(color, NO_MOVE);
+        } else {
+            bestValue = evaluation.evaluate(board, color);
+            if (bestValue >= beta) return bestValue;
+            if (bestValue > alpha) { alpha = bestValue; }
+            moves.resetCaptures(color);
+        }
+
+        int move;
+        while ((move = moves.next()) != NO_MOVE) {
+            if (!inCheck && exchange.evaluate(move) < 0) continue;
+            master.makeMove(move);
+            int value = -quiescence(1 - color, ply + 1, -beta, -alpha);
+            master.undoMove(move);
+            if (stopped) return 0;
+
+            if (value > bestValue) {
+                bestValue = value;
+                if (value > alpha) {
+                    alpha = value;
+                    if (alpha >= beta) break;
+                }
+            }
+        }
+
+        // checkmated, since every move out of check was searched
+        if (bestValue == -INFINITY) return -MATE + ply;
+        return bestValue;
+    }
+
+    /**
+     * Converts a score to the form stored in the table. Mate scores
+     * count the plies from the root, so they are stored counting from
+     * the position itself instead, which holds wherever it is reached.
+     * @param score score of a position ply plies from the root
+     * @param ply plies made since the root
+     * @return score to store
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) return score + ply;
+        if (score <= -MATE + MAX_PLY) return score - ply;
+        return score;
+    }
+
+    /**
+     * Converts a score stored in the table back to a score counting
+     * mates from the root (see toTable)
+     * @param score stored score
+     * @param ply plies made since the root
+     * @return score of the position
+     */
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) return score - ply;
+        if (score <= -MATE + MAX_PLY) return score + ply;
+        return score;
+    }
+
+    /**
+     * Stops a search running on another thread. findMove returns the
+     * best move of the last depth it finished.
+     */
+    public void stop() { stopped = true; }
+
+    /**
+     * Makes every iteration of the search a few plies deeper, so that
+     * searches sharing a table (see ParallelSearch) work ahead of each
+     * other instead of on the same depth.
+     * @param depthOffset plies added to each depth, 0 for none
+     */
+    public void setDepthOffset(int depthOffset) { this.depthOffset = depthOffset; }
+
+    /**
+     * Sets whether findMove starts a new generation of the table. Searches
+     * sharing a table (see ParallelSearch) leave that to whoever starts
+     * them, so the generation goes up once per move, not once per thread.
+     * @param startsGeneration true (the default) to start one
+     */
+    public void setStartsGeneration(boolean startsGeneration) {
+        this.startsGeneration = startsGeneration;
+    }
+
+    /**
+     * Getter for the number of positions visited by the last search
+     * @return nodes
+     */
+    public long getNodes() { return nodes; }
+
+    /**
+     * Getter for the deepest search the last findMove finished
+     * @return depth in plies
+     */
+    public int getCompletedDepth() { return completedDepth; }
+
+    /**
+     * Getter for the score of the move found by the last findMove
+     * @return score in centipawns for the side that moved, or a mate
+     *         score (within MAX_PLY of MATE)
+     */
+    public int getScore() { return score; }
+}
@@ -0,0 +1,131 @@
+package com.zberman2.Engine;
+
+import com.zberman2.DataManager.Board;
+
+import static com.zberman2.DataManager.Constants.*;
+import static com.zberman2.DataManager.Moves.*;
+
+/**
+ * Class which works out what a capture wins or loses without searching
+ * it (static exchange evaluation, or SEE). Both sides are assumed to keep
+ * recapturing on the capture's space with their least valuable attacker,
+ * each stopping as soon as going on would lose them material.
+ *
+ * The attackers come from Board.attackers, which covers every type of
+ * piece, the Duke, Ghost and Zack included. A piece which has captured is
+ * removed from the occupancy before the next attackers are found, so
+ * sliders lined up behind it (x-rays) join the exchange. Pins are not
+ * taken into account. Pieces are worth what the Evaluation says they are.
+ *
+ * Boards with more than 64 spaces only look one capture ahead: a capture
+ * of a defended piece loses the capturing piece. Boards too large for
+ * any bitboards count every capture as winning the piece taken.
+ */
+public class StaticExchange {
+    // most captures an exchange on one space can have
+    private static final int MAX_EXCHANGE = 64;
+
+    private Board board;
+    private Evaluation evaluation;
+    private int[] gain = new int[MAX_EXCHANGE]; // see evaluate
+    private int[] order = new int[NUMBER_OF_PIECE_TYPES]; // cheapest first
+
+    /**
+     * Constructor for exchanges on a board, with pieces worth what an
+     * evaluation says
+     * @param board board holding the position
+     * @param evaluation gives the worth of each type of piece
+     */
+    public StaticExchange(Board board, Evaluation evaluation) {
+        this.board = board;
+        this.evaluation = evaluation;
+    }
+
+    /**
+     * Works out the material a capture wins once every recapture worth
+     * making on its space has been made
+     * @param move packed capture (see the Moves class)
+     * @return material won by the side capturing, in centipawns (negative
+     *         if the capture loses material)
+     */
+    public int evaluate(int move) {
+        int to = end(move);
+        int color = board.at(start(move)).getColor();
+        int victim = evaluation.getValue(capturedType(move));
+        int attacker = evaluation.getValue(movedType(move));
+
+        if (board.getBitboards() == null) {
+            if (board.getWideBitboards() == null) return victim;
+            return board.isAttacked(to, 1 - color) ? victim - attacker : victim;
+        }
+        sortTypes();
+
+        long occupied = board.getOccupied() & ~(1L << start(move));
+        int side = 1 - color;
+        int depth = 0;
+        gain[0] = victim;
+        while (depth < MAX_EXCHANGE - 1) {
+            long attackers = board.attackers(to, side, occupied) & occupied;
+            if (attackers == 0) break;
+            int type = cheapestAttacker(attackers, side);
+            // the King can't capture onto a space which is still attacked
+            if (type == KING_TYPE_INDEX &&
+                    (board.attackers(to, 1 - side, occupied) & occupied) != 0) {
+                break;
+            }
+
+            // gain[depth] is the score of the side making capture number
+            // depth if the piece it captured with is never taken back
+            depth++;
+            gain[depth] = attacker - gain[depth - 1];
+            // neither side would carry on from here
+            if (Math.max(-gain[depth - 1], gain[depth]) < 0) break;
+
+            long from = board.getPieceBitboard(side, type) & attackers;
+            occupied &= ~(from & -from);
+            attacker = evaluation.getValue(type);
+            side = 1 - side;
+        }
+
+        // each side may stop recapturing whenever that suits it better
+        while (depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+            depth--;
+        }
+        return gain[0];
+    }
+
+    /**
+     * Orders the types of piece by their worth in the evaluation,
+     * cheapest first, and the King last since it can never be lost
+     */
+    private void sortTypes() {
+        int size = 0;
+        for (int type = 0; type < NUMBER_OF_PIECE_TYPES; type++) {
+            if (type == KING_TYPE_INDEX) continue;
+            int position = size++;
+            while (position > 0 && evaluation.getValue(order[position - 1]) >
+                    evaluation.getValue(type)) {
+                order[position] = order[position - 1];
+                position--;
+            }
+            order[position] = type;
+        }
+        order[size] = KING_TYPE_INDEX;
+    }
+
+    /**
+     * Finds the cheapest type of piece among a side's attackers
+     * @param attackers bitboard of the attackers' spaces
+     * @param side color of the attackers
+     * @return type index of the cheapest attacker
+     */
+    private int cheapestAttacker(long attackers, int side) {
+        for (int type : order) {
+            if ((board.getPieceBitboard(side, type) & attackers) != 0) {
+                return type;
+            }
+        }
+        return KING_TYPE_INDEX;
+    }
+}
@@ -0,0 +1,190 @@
+package com.zberman2.Engine;
+
+import java.util.Arrays;
+
+import static com.zberman2.DataManager.Moves.NO_MOVE;
+
+/**
+ * Class describing a fixed-size cache of search results, keyed by the
+ * hash of a position. Each entry records the depth the position was
+ * searched to, its score and whether that score is exact or only a
+ * bound, and the best move found, which is searched first when the
+ * position comes up again.
+ *
+ * The table holds a power of two number of entries, as many as fit in
+ * the memory it is given, grouped into buckets of four. A new result
+ * replaces the entry of the same position if there is one, and otherwise
+ * the entry least worth keeping: the shallowest, counting entries from
+ * earlier searches (older generations) as shallower the older they are.
+ *
+ * Like the PerftTable, each entry is two longs, the packed entry and the
+ * hash XOR the packed entry. A read only matches if the two agree, so
+ * search threads share the table without locks: an entry half written
+ * by another thread just looks missing.
+ *
+ * Packed entries are longs laid out as follows, and read with the
+ * static methods of this class:
+ *   bits  0-27  best move (see the Moves class), NO_MOVE if none
+ *   bits 28-35  depth searched
+ *   bits 36-37  bound (EXACT, LOWER_BOUND or UPPER_BOUND)
+ *   bits 38-43  generation of the search which stored it
+ *   bits 44-63  score (signed)
+ */
+public class TranspositionTable {
+    // kinds of score an entry can hold
+    public static final int EXACT = 1;       // the score of the position
+    public static final int LOWER_BOUND = 2; // the position scores at least this
+    public static final int UPPER_BOUND = 3; // the position scores at most this
+
+    private static final int ENTRY_BYTES = 16; // two longs per entry
+    private static final int BUCKET_SIZE = 4;
+    private static final int GENERATIONS = 64;
+    // how many plies of depth an entry loses for each generation of age
+    private static final int AGE_PENALTY = 8;
+
+    private static final long MOVE_MASK = (1L << 28) - 1;
+    private static final int DEPTH_SHIFT = 28;
+    private static final int BOUND_SHIFT = 36;
+    private static final int GENERATION_SHIFT = 38;
+    private static final int SCORE_SHIFT = 44;
+
+    private final long[] checks;   // hash XOR entry, 0 for an empty slot
+    private final long[] entries;  // packed entries
+    private final int mask;        // number of entries - 1
+    private volatile int generation = 0;
+
+    /**
+     * Constructor for a table using at most a given amount of memory
+     * @param megabytes memory for the table, at least 1
+     */
+    public TranspositionTable(int megabytes) {
+        long bytes = Math.max(1, megabytes) * 1024L * 1024L;
+        int size = Integer.highestOneBit(
+                (int) Math.min(bytes / ENTRY_BYTES, 1 << 30));
+        checks = new long[size];
+        entries = new long[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Looks up the result stored for a position
+     * @param hash hash of the position
+     * @return packed entry, 0 if none is stored
+     */
+    public long probe(long hash) {
+        int bucket = (int) hash & mask & ~(BUCKET_SIZE - 1);
+        for (int slot = bucket; slot < bucket + BUCKET_SIZE; slot++) {
+            long entry = entries[slot];
+            if (entry != 0 && (checks[slot] ^ entry) == hash) {
+                return entry;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Stores the result of searching a position
+     * @param hash hash of the position
+     * @param depth number of plies searched below it
+     * @param bound EXACT, LOWER_BOUND or UPPER_BOUND
+     * @param score score of the position (or the bound on it)
+     * @param move best move found, NO_MOVE to keep the one already
+     *             stored for the position
+     */
+    public void store(long hash, int depth, int bound, int score, int move) {
+        int bucket = (int) hash & mask & ~(BUCKET_SIZE - 1);
+        int replace = bucket;
+        int lowestWorth = Integer.MAX_VALUE;
+        for (int slot = bucket; slot < bucket + BUCKET_SIZE; slot++) {
+            long entry = entries[slot];
+            if (entry != 0 && (checks[slot] ^ entry) == hash) {
+                // same position: keep its move if no better one was found
+                if (move == NO_MOVE) { move = move(entry); }
+                replace = slot;
+                break;
+            }
+            int worth = (entry == 0) ? Integer.MIN_VALUE : depth(entry) -
+                    AGE_PENALTY * ((generation - generation(entry)) & (GENERATIONS - 1));
+            if (worth < lowestWorth) {
+                lowestWorth = worth;
+                replace = slot;
+            }
+        }
+        long entry = (move & MOVE_MASK) |
+                ((long) depth << DEPTH_SHIFT) |
+                ((long) bound << BOUND_SHIFT) |
+                ((long) generation << GENERATION_SHIFT) |
+                ((long) score << SCORE_SHIFT);
+        entries[replace] = entry;
+        checks[replace] = hash ^ entry;
+    }
+
+    /**
+     * Starts a new search, so that the entries of earlier searches are
+     * replaced before the entries of this one
+     */
+    public void newSearch() {
+        generation = (generation + 1) & (GENERATIONS - 1);
+    }
+
+    /**
+     * Getter for the generation of the current search
+     * @return generation, which goes up by one (mod 64) per newSearch
+     */
+    public int getGeneration() { return generation; }
+
+    /**
+     * Removes every stored result
+     */
+    public void clear() {
+        Arrays.fill(checks, 0);
+        Arrays.fill(entries, 0);
+    }
+
+    /**
+     * Returns the number of results the table can hold
+     * @return number of entries
+     */
+    public int getSize() { return mask + 1; }
+
+    /**
+     * Returns the best move of a packed entry
+     * @param entry packed entry
+     * @return packed move, NO_MOVE if none
+     */
+    public static int move(long entry) { return (int) (entry & MOVE_MASK); }
+
+    /**
+     * Returns the depth of a packed entry
+     * @param entry packed entry
+     * @return number of plies searched
+     */
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Returns the kind of score of a packed entry
+     * @param entry packed entry
+     * @return EXACT, LOWER_BOUND or UPPER_BOUND
+     */
+    public static int bound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    /**
+     * Returns the generation of the search which stored a packed entry
+     * @param entry packed entry
+     * @return generation
+     */
+    public static int generation(long entry) {
+        return (int) (entry >>> GENERATION_SHIFT) & (GENERATIONS - 1);
+    }
+
+    /**
+     * Returns the score of a packed entry
+     * @param entry packed entry
+     * @return score (or the bound on it)
+     */
+    public static int score(long entry) { return (int) (entry >> SCORE_SHIFT); }
+}
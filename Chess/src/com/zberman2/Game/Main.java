@@ -4,6 +4,8 @@ import com.zberman2.DataManager.Master;
 
 import java.io.IOException;
 
+import static com.zberman2.DataManager.Constants.BLACK;
+
 /**
  * Class containing the main method (i.e. game loop)
  */
@@ -11,9 +13,20 @@ public class Main {
 
     /**
      * Method containing the game loop
-     * @param args empty String array
+     * @param args empty String array for the GUI, "terminal" to play in
+     *             the terminal window instead, or "terminal computer" to
+     *             play White against the computer there
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equalsIgnoreCase("terminal")) {
+            boolean computer = args.length > 1 &&
+                    args[1].equalsIgnoreCase("computer");
+            TerminalWindowGame game = computer ?
+                    new TerminalWindowGame(BLACK) : new TerminalWindowGame();
+            game.startGame();
+            return;
+        }
+
         // initialize standard master
         Master master = new Master();
         try {
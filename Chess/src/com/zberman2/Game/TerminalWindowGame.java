@@ -1,13 +1,21 @@
 package com.zberman2.Game;
 
+import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.GameStatus;
 import com.zberman2.DataManager.Master;
 import com.zberman2.DataManager.Move;
+import com.zberman2.DataManager.Moves;
+import com.zberman2.Engine.Evaluation;
+import com.zberman2.Engine.ParallelSearch;
+import com.zberman2.Engine.TranspositionTable;
 import com.zberman2.Pieces.Piece;
-import javafx.util.Pair;
 
 import java.util.Scanner;
 import java.util.Stack;
 
+import static com.zberman2.DataManager.Constants.COMPUTER_HASH_MEGABYTES;
+import static com.zberman2.DataManager.Constants.COMPUTER_MOVE_MILLIS;
+import static com.zberman2.DataManager.Constants.COMPUTER_THREADS;
 import static com.zberman2.DataManager.Constants.WHITE;
 
 /**
@@ -24,6 +32,8 @@ public class TerminalWindowGame {
     int color = WHITE;
     boolean gameOver = false;
     Scanner sc;
+    int computerColor = -1; // side played by the computer (-1 for none)
+    TranspositionTable computerTable; // kept from one move to the next
 
     /**
      * No args constructor which sets up a Standard master,
@@ -35,6 +45,16 @@ public class TerminalWindowGame {
         sc = new Scanner(System.in);
     }
 
+    /**
+     * Constructor for a game against the computer
+     * @param computerColor side the computer plays
+     */
+    public TerminalWindowGame(int computerColor) {
+        this();
+        this.computerColor = computerColor;
+        this.computerTable = new TranspositionTable(COMPUTER_HASH_MEGABYTES);
+    }
+
     /**
      * Print the board and start the game loop
      */
@@ -43,8 +63,12 @@ public class TerminalWindowGame {
         while (!gameOver) {
             System.out.flush();
 
-            Piece piece = promptPiece();
-            promptMove(piece);
+            if (color == computerColor) {
+                playComputerMove();
+            } else {
+                Piece piece = promptPiece();
+                promptMove(piece);
+            }
             color = 1 - color;
 
             evaluateBoard();
@@ -52,6 +76,12 @@ public class TerminalWindowGame {
         }
     }
 
+    /**
+     * Getter for the master controlling the game
+     * @return master
+     */
+    public Master getMaster() { return chessmaster; }
+
     /**
      * Prints out the color who is currently up
      */
@@ -71,9 +101,13 @@ public class TerminalWindowGame {
             if (moveStack.empty()) {
                 System.out.println("No moves to undo");
             } else {
-                Move lastMove = moveStack.pop();
-                lastMove.undo();
-                color = 1 - color;
+                // against the computer, also take back its reply
+                int undoCount = (computerColor >= 0 && moveStack.size() >= 2) ? 2 : 1;
+                for (int i = 0; i < undoCount; i++) {
+                    Move lastMove = moveStack.pop();
+                    lastMove.undo();
+                    color = 1 - color;
+                }
                 chessmaster.printBoard();
             }
         } else if (isValidInput(input)) {
@@ -98,10 +132,10 @@ public class TerminalWindowGame {
 
         // change turns if a valid move was made
         if (chessmaster.canMove(piece, input)) {
-            Pair<Character, Integer> oldPosition = piece.getPosition();
+            int oldPosition = piece.getPosition();
             Piece captured = chessmaster.findPiece(input);
             chessmaster.move(piece, input);
-            Pair<Character, Integer> newPosition = piece.getPosition();
+            int newPosition = piece.getPosition();
             moveStack.push(new Move(piece, captured, oldPosition, newPosition));
             return 1;
         } else {
@@ -110,6 +144,26 @@ public class TerminalWindowGame {
         }
     }
 
+    /**
+     * Lets the computer choose a move for the current side, searching
+     * copies of the board on several threads, and plays it
+     */
+    public void playComputerMove() {
+        ParallelSearch search = new ParallelSearch(COMPUTER_THREADS,
+                new Evaluation(), computerTable);
+        int move = search.findMove(chessmaster, color, COMPUTER_MOVE_MILLIS);
+        if (move == Moves.NO_MOVE) return;
+
+        Board board = chessmaster.getBoard();
+        Piece piece = board.at(Moves.start(move));
+        Piece captured = board.at(Moves.end(move));
+        System.out.println("Computer moves " + Moves.toString(move, board));
+        int oldPosition = piece.getPosition();
+        chessmaster.move(piece, board.fileOf(Moves.end(move)),
+                board.rankOf(Moves.end(move)));
+        moveStack.push(new Move(piece, captured, oldPosition, piece.getPosition()));
+    }
+
     public boolean isValidInput(String input) {
         return input.length() == 2;
     }
@@ -155,13 +209,14 @@ public class TerminalWindowGame {
 
     public void evaluateBoard() {
         // check for check, checkmate, stalemate
-        if (chessmaster.isCheckmate(color)) {
+        GameStatus status = chessmaster.gameStatus(color);
+        if (status.isCheckmate()) {
             System.out.println("Checkmate");
             gameOver = true;
-        } else if (chessmaster.isStalemate(color)) {
+        } else if (status.isStalemate()) {
             System.out.println("Stalemate");
             gameOver = true;
-        } else if (chessmaster.isCheck(color) > 0) {
+        } else if (status.isCheck()) {
             System.out.println("King is in check");
         }
     }
@@ -1,5 +1,6 @@
 package com.zberman2;
 
+import com.zberman2.DataManager.GameStatus;
 import com.zberman2.DataManager.Master;
 import com.zberman2.Pieces.Piece;
 
@@ -71,13 +72,14 @@ public class Main {
             }
 
             // check for check, checkmate, stalemate
-            if (chessmaster.isCheck(color) > 0) {
+            GameStatus status = chessmaster.gameStatus(color);
+            if (status.isCheck()) {
                 System.out.println("King is in check");
             }
-            if (chessmaster.isCheckmate(color)) {
+            if (status.isCheckmate()) {
                 System.out.println("Checkmate");
             }
-            if (chessmaster.isStalemate(color)) {
+            if (status.isStalemate()) {
                 System.out.println("Stalemate");
             }
         }
@@ -1,14 +1,17 @@
 package com.zberman2.Pieces;
 
 import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.MoveList;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 
+import static com.zberman2.DataManager.Bitboards.bit;
 import static com.zberman2.DataManager.Constants.BISHOP;
 import static com.zberman2.DataManager.Constants.BISHOP_IMAGE_INDEX;
+import static com.zberman2.DataManager.Constants.BISHOP_TYPE_INDEX;
 import static com.zberman2.DataManager.Constants.chessPieces;
 
 /**
@@ -38,10 +41,28 @@ public class Bishop extends Piece {
      */
     @Override
     public boolean validMotion(char newFile, int newRank, Board board) {
+        if (board.hasBitboardPath(newFile, newRank, this)) {
+            // look up the Bishop's attacks in the precomputed tables
+            int start = board.index(getFile(), getRank());
+            int end = board.index(newFile, newRank);
+            return (board.bishopAttacks(start) & bit(end)) != 0;
+        }
         return isDiagonalMotion(newFile, newRank) &&
                 board.isOpenDiagonalPath(newFile, newRank, this);
     }
 
+    /**
+     * Adds the spaces along each diagonal up to the first piece in the way
+     * @param board current instance of the chess board
+     * @param targets list the target squares are added to
+     */
+    @Override
+    public void addTargets(Board board, MoveList targets) {
+        for (int[] direction : DIAGONAL_DIRECTIONS) {
+            addSlide(board, targets, direction[0], direction[1]);
+        }
+    }
+
     /**
      * Method used for printing the character representing the Bishop
      * @return the character for a Bishop: 'B'
@@ -54,4 +75,19 @@ public class Bishop extends Piece {
      * @return bishop image index
      */
     public int imageIndex() { return BISHOP_IMAGE_INDEX; }
+
+    /**
+     * Returns the index of the Board's bitboards where this
+     * particular type of piece is stored
+     * @return bishop type index
+     */
+    public int typeIndex() { return BISHOP_TYPE_INDEX; }
+
+    /**
+     * Returns a new Bishop with the same color, position and capture state
+     * @return copy of the Bishop, which isn't on any board yet
+     */
+    public Piece copy() {
+        return copyState(new Bishop(getColor(), getFile(), getRank()));
+    }
 }
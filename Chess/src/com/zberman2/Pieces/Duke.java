@@ -1,6 +1,7 @@
 package com.zberman2.Pieces;
 
 import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.MoveList;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -42,6 +43,19 @@ public class Duke extends Piece {
                 xDifference     <= 3 && yDifference     <= 3);
     }
 
+    /**
+     * Adds the spaces 2 away horizontally, vertically or diagonally,
+     * which the Duke jumps to
+     * @param board current instance of the chess board
+     * @param targets list the target squares are added to
+     */
+    @Override
+    public void addTargets(Board board, MoveList targets) {
+        for (int[] direction : QUEEN_DIRECTIONS) {
+            addStep(board, targets, 2 * direction[0], 2 * direction[1]);
+        }
+    }
+
     /**
      * Method used for printing the character representing the King
      * @return the character for a Duke: 'D'
@@ -56,6 +70,21 @@ public class Duke extends Piece {
      */
     public int imageIndex() { return -1; }
 
+    /**
+     * Returns the index of the Board's bitboards where this
+     * particular type of piece is stored
+     * @return duke type index
+     */
+    public int typeIndex() { return DUKE_TYPE_INDEX; }
+
+    /**
+     * Returns a new Duke with the same color, position and capture state
+     * @return copy of the Duke, which isn't on any board yet
+     */
+    public Piece copy() {
+        return copyState(new Duke(getColor(), getFile(), getRank()));
+    }
+
     /**
      * Alternate piece, with an alternate image
      * @return Duke image (negative if color is BLACK)
@@ -1,6 +1,7 @@
 package com.zberman2.Pieces;
 
 import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.MoveList;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -9,6 +10,7 @@ import java.io.IOException;
 
 import static com.zberman2.DataManager.Constants.KING;
 import static com.zberman2.DataManager.Constants.KING_IMAGE_INDEX;
+import static com.zberman2.DataManager.Constants.KING_TYPE_INDEX;
 import static com.zberman2.DataManager.Constants.chessPieces;
 
 /**
@@ -42,6 +44,18 @@ public class King extends Piece {
         return xDifference <= 1 && yDifference <= 1;
     }
 
+    /**
+     * Adds the spaces next to the King
+     * @param board current instance of the chess board
+     * @param targets list the target squares are added to
+     */
+    @Override
+    public void addTargets(Board board, MoveList targets) {
+        for (int[] direction : QUEEN_DIRECTIONS) {
+            addStep(board, targets, direction[0], direction[1]);
+        }
+    }
+
     /**
      * Method used for printing the character representing the King
      * @return the character for a King: 'K'
@@ -54,4 +68,19 @@ public class King extends Piece {
      * @return king image index
      */
     public int imageIndex() { return KING_IMAGE_INDEX; }
+
+    /**
+     * Returns the index of the Board's bitboards where this
+     * particular type of piece is stored
+     * @return king type index
+     */
+    public int typeIndex() { return KING_TYPE_INDEX; }
+
+    /**
+     * Returns a new King with the same color, position and capture state
+     * @return copy of the King, which isn't on any board yet
+     */
+    public Piece copy() {
+        return copyState(new King(getColor(), getFile(), getRank()));
+    }
 }
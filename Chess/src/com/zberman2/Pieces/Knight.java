@@ -1,6 +1,7 @@
 package com.zberman2.Pieces;
 
 import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.MoveList;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -9,6 +10,7 @@ import java.io.IOException;
 
 import static com.zberman2.DataManager.Constants.KNIGHT;
 import static com.zberman2.DataManager.Constants.KNIGHT_IMAGE_INDEX;
+import static com.zberman2.DataManager.Constants.KNIGHT_TYPE_INDEX;
 import static com.zberman2.DataManager.Constants.chessPieces;
 
 /**
@@ -16,6 +18,10 @@ import static com.zberman2.DataManager.Constants.chessPieces;
  * Created by Zack Berman on 9/10/2014.
  */
 public class Knight extends Piece {
+    // (file, rank) steps of every L shaped move
+    private static final int[][] KNIGHT_STEPS = {{1, 2}, {2, 1}, {2, -1},
+            {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+
     /**
      * Call the superclass constructor
      * @param color white or black
@@ -43,6 +49,18 @@ public class Knight extends Piece {
                 (xDifference == 2 && yDifference == 1));
     }
 
+    /**
+     * Adds the spaces an L shape away from the Knight
+     * @param board current instance of the chess board
+     * @param targets list the target squares are added to
+     */
+    @Override
+    public void addTargets(Board board, MoveList targets) {
+        for (int[] step : KNIGHT_STEPS) {
+            addStep(board, targets, step[0], step[1]);
+        }
+    }
+
     /**
      * Method used for printing the character representing the Knight
      * @return the character for a Knight: 'N'
@@ -55,4 +73,19 @@ public class Knight extends Piece {
      * @return knight image index
      */
     public int imageIndex() { return KNIGHT_IMAGE_INDEX; }
+
+    /**
+     * Returns the index of the Board's bitboards where this
+     * particular type of piece is stored
+     * @return knight type index
+     */
+    public int typeIndex() { return KNIGHT_TYPE_INDEX; }
+
+    /**
+     * Returns a new Knight with the same color, position and capture state
+     * @return copy of the Knight, which isn't on any board yet
+     */
+    public Piece copy() {
+        return copyState(new Knight(getColor(), getFile(), getRank()));
+    }
 }
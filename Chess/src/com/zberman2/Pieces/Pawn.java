@@ -1,6 +1,8 @@
 package com.zberman2.Pieces;
 
 import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.MoveList;
+import com.zberman2.DataManager.Square;
 
 import static com.zberman2.DataManager.Constants.*;
 
@@ -66,6 +68,39 @@ public class Pawn extends Piece {
         }
     }
 
+    /**
+     * Adds the space in front of the Pawn (and the one after it on its
+     * first move) if they are empty, and the spaces diagonally in front
+     * of it which hold an opponent's piece
+     * @param board current instance of the chess board
+     * @param targets list the target squares are added to
+     */
+    @Override
+    public void addTargets(Board board, MoveList targets) {
+        int direction = (getColor() == WHITE) ? 1 : -1;
+        char file = getFile();
+        int rank = getRank() + direction;
+        if (isOnBoard(board, file, rank) && board.at(file, rank) == null) {
+            targets.add(Square.of(file, rank));
+            rank += direction;
+            if (isFirstMove && isOnBoard(board, file, rank) &&
+                    board.at(file, rank) == null) {
+                targets.add(Square.of(file, rank));
+            }
+        }
+
+        rank = getRank() + direction;
+        for (int side = -1; side <= 1; side += 2) {
+            char captureFile = (char) (file + side);
+            if (isOnBoard(board, captureFile, rank)) {
+                Piece piece = board.at(captureFile, rank);
+                if (piece != null && piece.getColor() != getColor()) {
+                    targets.add(Square.of(captureFile, rank));
+                }
+            }
+        }
+    }
+
     public boolean getIsFirstMove() { return isFirstMove; }
 
     public int getMoveCount() { return moveCount; }
@@ -100,6 +135,25 @@ public class Pawn extends Piece {
      */
     public int imageIndex() { return PAWN_IMAGE_INDEX; }
 
+    /**
+     * Returns the index of the Board's bitboards where this
+     * particular type of piece is stored
+     * @return pawn type index
+     */
+    public int typeIndex() { return PAWN_TYPE_INDEX; }
+
+    /**
+     * Returns a new Pawn with the same color, position, capture state
+     * and move count
+     * @return copy of the Pawn, which isn't on any board yet
+     */
+    public Piece copy() {
+        Pawn copy = new Pawn(getColor(), getFile(), getRank());
+        copy.isFirstMove = isFirstMove;
+        copy.moveCount = moveCount;
+        return copyState(copy);
+    }
+
     public String toString() {
         String s = super.toString();
         if (isFirstMove) {
@@ -1,7 +1,8 @@
 package com.zberman2.Pieces;
 
 import com.zberman2.DataManager.Board;
-import javafx.util.Pair;
+import com.zberman2.DataManager.MoveList;
+import com.zberman2.DataManager.Square;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -16,9 +17,19 @@ import static com.zberman2.DataManager.Constants.chessPieces;
  * Created by Zack Berman on 9/10/2014.
  */
 public abstract class Piece {
+    // (file, rank) steps along the lines pieces move on
+    protected static final int[][] STRAIGHT_DIRECTIONS =
+            {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    protected static final int[][] DIAGONAL_DIRECTIONS =
+            {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    protected static final int[][] QUEEN_DIRECTIONS = {{1, 0}, {-1, 0},
+            {0, 1}, {0, -1}, {1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
     private int color; // 0 for white, 1 for black
-    private Pair<Character, Integer> position; // (rank, file) coordinate
+    private int position; // (file, rank) coordinate packed into a Square
     private boolean isCaptured = false;
+    private Board board; // board the piece has been placed on (null if none)
+    private int listIndex = -1; // position in the board's list of live pieces
 
     /**
      * Constructor for a Piece object. Sets the color and initial position
@@ -28,18 +39,55 @@ public abstract class Piece {
      */
     public Piece(int color, char file, int rank) {
         this.color = color;
-        this.position = new Pair<Character, Integer>(file, rank);
+        this.position = Square.of(file, rank);
     }
 
     /**
      * Called when a piece is captured in the game
+     * The piece is lifted off of its board before being flagged
      */
-    public void setIsCapturedTrue() { isCaptured = true; }
+    public void setIsCapturedTrue() {
+        if (!isCaptured && board != null) { board.capture(this); }
+        isCaptured = true;
+    }
 
     /**
      * Called to revert the capturing of a piece
+     * The piece is placed back on its board after being flagged
+     */
+    public void setIsCapturedFalse() {
+        boolean wasCaptured = isCaptured;
+        isCaptured = false;
+        if (wasCaptured && board != null) { board.restore(this); }
+    }
+
+    /**
+     * Setter for the board this piece has been placed on. Called by
+     * the Board when it receives its list of pieces, so that moves and
+     * captures can be reported back to it
+     * @param board board the piece belongs to
+     */
+    public void setBoard(Board board) { this.board = board; }
+
+    /**
+     * Getter for the piece's position in its board's list of live pieces
+     * of the same color and type. Kept while the piece is captured, so
+     * that restoring it puts it back in the same place.
+     * @return list index (-1 if never listed)
      */
-    public void setIsCapturedFalse() { isCaptured = false; }
+    public int getListIndex() { return listIndex; }
+
+    /**
+     * Setter for the piece's position in its board's list of live pieces
+     * @param listIndex list index
+     */
+    public void setListIndex(int listIndex) { this.listIndex = listIndex; }
+
+    /**
+     * Getter for the board this piece has been placed on
+     * @return board (null if the piece has not been placed on one)
+     */
+    public Board getBoard() { return board; }
 
     /**
      * Method that determines if the piece can make a valid move to
@@ -76,17 +124,122 @@ public abstract class Piece {
      */
     abstract boolean validMotion(char newFile, int newRank, Board board);
 
+    /**
+     * Adds every space the piece can move to, ignoring whether the move
+     * would leave its King in check, to a list of packed squares (see
+     * the Square class). Each subclass enumerates the spaces from its
+     * own pattern of motion, so this finds the same spaces as calling
+     * canMove on every space of the board, without visiting them all.
+     * @param board current instance of the chess board
+     * @param targets list the target squares are added to
+     */
+    public abstract void addTargets(Board board, MoveList targets);
+
+    /**
+     * Adds the space (fileStep, rankStep) away from the piece to a list
+     * of targets, if it is on the board and not occupied by a piece of
+     * the same color
+     * @param board current instance of the chess board
+     * @param targets list the target squares are added to
+     * @param fileStep number of files to move
+     * @param rankStep number of ranks to move
+     */
+    protected void addStep(Board board, MoveList targets,
+                           int fileStep, int rankStep) {
+        char file = (char) (getFile() + fileStep);
+        int rank = getRank() + rankStep;
+        if (isOnBoard(board, file, rank) && isOpenTarget(board, file, rank)) {
+            targets.add(Square.of(file, rank));
+        }
+    }
+
+    /**
+     * Adds the spaces along a line from the piece to a list of targets,
+     * up to and including the first occupied space (if it is occupied
+     * by an opponent's piece)
+     * @param board current instance of the chess board
+     * @param targets list the target squares are added to
+     * @param fileStep files moved per space along the line
+     * @param rankStep ranks moved per space along the line
+     */
+    protected void addSlide(Board board, MoveList targets,
+                            int fileStep, int rankStep) {
+        char file = (char) (getFile() + fileStep);
+        int rank = getRank() + rankStep;
+        while (isOnBoard(board, file, rank)) {
+            Piece piece = board.at(file, rank);
+            if (piece == null || piece.getColor() != color) {
+                targets.add(Square.of(file, rank));
+            }
+            if (piece != null) { return; }
+            file += fileStep;
+            rank += rankStep;
+        }
+    }
+
+    /**
+     * Adds the spaces along a line from the piece to a list of targets,
+     * jumping over any pieces in the way
+     * @param board current instance of the chess board
+     * @param targets list the target squares are added to
+     * @param fileStep files moved per space along the line
+     * @param rankStep ranks moved per space along the line
+     */
+    protected void addJumps(Board board, MoveList targets,
+                            int fileStep, int rankStep) {
+        char file = (char) (getFile() + fileStep);
+        int rank = getRank() + rankStep;
+        while (isOnBoard(board, file, rank)) {
+            if (isOpenTarget(board, file, rank)) {
+                targets.add(Square.of(file, rank));
+            }
+            file += fileStep;
+            rank += rankStep;
+        }
+    }
+
+    /**
+     * Determines if (file, rank) is a space on the board
+     * @param board current instance of the chess board
+     * @param file file coordinate
+     * @param rank rank coordinate
+     * @return true if the space is on the board
+     */
+    protected boolean isOnBoard(Board board, char file, int rank) {
+        return file >= 'a' && file < ('a' + board.getXDimension()) &&
+                rank >= 1 && rank <= board.getYDimension();
+    }
+
+    /**
+     * Determines if (file, rank) is either unoccupied, or occupied by
+     * one of the opponent's pieces
+     * @param board current instance of the chess board
+     * @param file file coordinate
+     * @param rank rank coordinate
+     * @return true if the piece may end its move on the space
+     */
+    protected boolean isOpenTarget(Board board, char file, int rank) {
+        Piece piece = board.at(file, rank);
+        return piece == null || piece.getColor() != color;
+    }
+
     /**
      * Changes the position of the Piece to a new space
      * @param newFile file coordinate of new space
      * @param newRank file coordinate of new space
      */
     public void move(char newFile, int newRank) {
-        position = new Pair<Character, Integer>(newFile, newRank);
+        move(Square.of(newFile, newRank));
     }
 
-    public void move(Pair<Character, Integer> newPosition) {
+    /**
+     * Changes the position of the Piece to a new space
+     * @param newPosition packed (file, rank) coordinate of new space
+     */
+    public void move(int newPosition) {
+        if (board != null) { board.lift(this); }
         position = newPosition;
+        if (board != null) { board.place(this); }
     }
 
     /**
@@ -106,19 +259,23 @@ public abstract class Piece {
      */
     public int getColor() { return color; }
 
-    public Pair<Character, Integer> getPosition() { return position; }
+    /**
+     * Getter for the Piece's position
+     * @return (file, rank) coordinate packed into a Square
+     */
+    public int getPosition() { return position; }
 
     /**
      * Getter for file coordinate
      * @return file
      */
-    public char getFile() { return position.getKey(); }
+    public char getFile() { return Square.file(position); }
 
     /**
      * Getter for rank coordinate
      * @return rank
      */
-    public int getRank() { return position.getValue(); }
+    public int getRank() { return Square.rank(position); }
 
     /**
      * Getter for isCaptured boolean variable
@@ -150,6 +307,30 @@ public abstract class Piece {
      */
     public abstract int imageIndex();
 
+    /**
+     * Returns the index of the Board's bitboards where this
+     * particular type of piece is stored
+     * @return type index (see Constants for possible values)
+     */
+    public abstract int typeIndex();
+
+    /**
+     * Returns a new piece of the same type with the same state, so that
+     * a board can be copied (e.g. to search it on another thread)
+     * @return copy of the piece, which isn't on any board yet
+     */
+    public abstract Piece copy();
+
+    /**
+     * Gives a copy of this piece the same capture state
+     * @param copy new piece of the same type, color and position
+     * @return the copy
+     */
+    protected Piece copyState(Piece copy) {
+        copy.isCaptured = isCaptured;
+        return copy;
+    }
+
     /**
      * Uses the chessPieces image with all chess piece images to return
      * an individual picture with a single piece, depending on the
@@ -1,14 +1,17 @@
 package com.zberman2.Pieces;
 
 import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.MoveList;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 
+import static com.zberman2.DataManager.Bitboards.bit;
 import static com.zberman2.DataManager.Constants.QUEEN;
 import static com.zberman2.DataManager.Constants.QUEEN_IMAGE_INDEX;
+import static com.zberman2.DataManager.Constants.QUEEN_TYPE_INDEX;
 import static com.zberman2.DataManager.Constants.chessPieces;
 
 /**
@@ -38,6 +41,12 @@ public class Queen extends Piece {
      */
     @Override
     public boolean validMotion(char newFile, int newRank, Board board) {
+        if (board.hasBitboardPath(newFile, newRank, this)) {
+            // look up the Queen's attacks in the precomputed tables
+            int start = board.index(getFile(), getRank());
+            int end = board.index(newFile, newRank);
+            return (board.queenAttacks(start) & bit(end)) != 0;
+        }
         if (!isDiagonalMotion(newFile, newRank)) {
             if (!isVerticalMotion(newFile, newRank)) {
                 return isHorizontalMotion(newFile, newRank) &&
@@ -50,6 +59,19 @@ public class Queen extends Piece {
         }
     }
 
+    /**
+     * Adds the spaces along each rank, file and diagonal up to the first
+     * piece in the way
+     * @param board current instance of the chess board
+     * @param targets list the target squares are added to
+     */
+    @Override
+    public void addTargets(Board board, MoveList targets) {
+        for (int[] direction : QUEEN_DIRECTIONS) {
+            addSlide(board, targets, direction[0], direction[1]);
+        }
+    }
+
     /**
      * Method used for printing the character representing the Queen
      * @return the character for a Queen: 'Q'
@@ -62,4 +84,19 @@ public class Queen extends Piece {
      * @return queen image index
      */
     public int imageIndex() { return QUEEN_IMAGE_INDEX; }
+
+    /**
+     * Returns the index of the Board's bitboards where this
+     * particular type of piece is stored
+     * @return queen type index
+     */
+    public int typeIndex() { return QUEEN_TYPE_INDEX; }
+
+    /**
+     * Returns a new Queen with the same color, position and capture state
+     * @return copy of the Queen, which isn't on any board yet
+     */
+    public Piece copy() {
+        return copyState(new Queen(getColor(), getFile(), getRank()));
+    }
 }
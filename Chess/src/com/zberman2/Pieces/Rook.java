@@ -1,14 +1,17 @@
 package com.zberman2.Pieces;
 
 import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.MoveList;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 
+import static com.zberman2.DataManager.Bitboards.bit;
 import static com.zberman2.DataManager.Constants.ROOK;
 import static com.zberman2.DataManager.Constants.ROOK_IMAGE_INDEX;
+import static com.zberman2.DataManager.Constants.ROOK_TYPE_INDEX;
 import static com.zberman2.DataManager.Constants.chessPieces;
 
 /**
@@ -37,6 +40,12 @@ public class Rook extends Piece {
      */
     @Override
     public boolean validMotion(char newFile, int newRank, Board board) {
+        if (board.hasBitboardPath(newFile, newRank, this)) {
+            // look up the Rook's attacks in the precomputed tables
+            int start = board.index(getFile(), getRank());
+            int end = board.index(newFile, newRank);
+            return (board.rookAttacks(start) & bit(end)) != 0;
+        }
         if (!isVerticalMotion(newFile, newRank)) {
             return isHorizontalMotion(newFile, newRank) &&
                     board.isOpenHorizontalPath(newFile, newRank, this);
@@ -45,6 +54,19 @@ public class Rook extends Piece {
         }
     }
 
+    /**
+     * Adds the spaces along each rank and file up to the first piece
+     * in the way
+     * @param board current instance of the chess board
+     * @param targets list the target squares are added to
+     */
+    @Override
+    public void addTargets(Board board, MoveList targets) {
+        for (int[] direction : STRAIGHT_DIRECTIONS) {
+            addSlide(board, targets, direction[0], direction[1]);
+        }
+    }
+
     /**
      * Method used for printing the character representing the Rook
      * @return the character for a Rook: 'R'
@@ -57,4 +79,19 @@ public class Rook extends Piece {
      * @return piece image index
      */
     public int imageIndex() { return ROOK_IMAGE_INDEX; }
+
+    /**
+     * Returns the index of the Board's bitboards where this
+     * particular type of piece is stored
+     * @return rook type index
+     */
+    public int typeIndex() { return ROOK_TYPE_INDEX; }
+
+    /**
+     * Returns a new Rook with the same color, position and capture state
+     * @return copy of the Rook, which isn't on any board yet
+     */
+    public Piece copy() {
+        return copyState(new Rook(getColor(), getFile(), getRank()));
+    }
 }
@@ -1,6 +1,7 @@
 package com.zberman2.Pieces;
 
 import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.MoveList;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -39,6 +40,19 @@ public class Zack extends Piece{
                 isDiagonalMotion(newFile, newRank);
     }
 
+    /**
+     * Adds every space along each rank, file and diagonal, since the Zack
+     * jumps over any pieces in the way
+     * @param board current instance of the chess board
+     * @param targets list the target squares are added to
+     */
+    @Override
+    public void addTargets(Board board, MoveList targets) {
+        for (int[] direction : QUEEN_DIRECTIONS) {
+            addJumps(board, targets, direction[0], direction[1]);
+        }
+    }
+
     /**
      * Returns the character representing the type of Piece
      *
@@ -53,6 +67,21 @@ public class Zack extends Piece{
      */
     public int imageIndex() { return -1; }
 
+    /**
+     * Returns the index of the Board's bitboards where this
+     * particular type of piece is stored
+     * @return zack type index
+     */
+    public int typeIndex() { return ZACK_TYPE_INDEX; }
+
+    /**
+     * Returns a new Zack with the same color, position and capture state
+     * @return copy of the Zack, which isn't on any board yet
+     */
+    public Piece copy() {
+        return copyState(new Zack(getColor(), getFile(), getRank()));
+    }
+
     /**
      * Alternate piece, with an alternate image
      * @return Zack image (negative if color is BLACK)
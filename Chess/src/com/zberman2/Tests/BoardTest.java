@@ -3,9 +3,15 @@ package com.zberman2.Tests;
 import static com.zberman2.DataManager.Constants.*;
 import com.zberman2.DataManager.Board;
 import com.zberman2.DataManager.StandardBoard;
+import com.zberman2.DataManager.Master;
+import com.zberman2.Pieces.Bishop;
+import com.zberman2.Pieces.Duke;
+import com.zberman2.Pieces.King;
+import com.zberman2.Pieces.Knight;
 import com.zberman2.Pieces.Pawn;
 import com.zberman2.Pieces.Piece;
 import com.zberman2.Pieces.Queen;
+import com.zberman2.Pieces.Rook;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -100,4 +106,209 @@ public class BoardTest {
         assertEquals(true,
                 chessboard.isOpenHorizontalPath('b', 4, queen));
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that the bitboards follow the pieces as they move
+     * and are captured
+     * @throws Exception
+     */
+    @Test
+    public void testBitboards() throws Exception {
+        int d4 = chessboard.index('d', 4);
+        int d6 = chessboard.index('d', 6);
+        int b6 = chessboard.index('b', 6);
+        assertEquals(1L << d4, chessboard.getColorBitboard(WHITE));
+        assertEquals(1L << d4,
+                chessboard.getPieceBitboard(WHITE, QUEEN_TYPE_INDEX));
+        assertEquals(4, Long.bitCount(chessboard.getOccupied()));
+
+        queen.move('d', 6);
+        assertEquals(1L << d6, chessboard.getColorBitboard(WHITE));
+        assertEquals(queen, chessboard.at('d', 6));
+        assertEquals(null, chessboard.at('d', 4));
+
+        // capture the pawn on b6
+        chessboard.at('b', 6).setIsCapturedTrue();
+        queen.move('b', 6);
+        assertEquals(1L << b6, chessboard.getColorBitboard(WHITE));
+        assertEquals(0L, chessboard.getColorBitboard(BLACK) & (1L << b6));
+        assertEquals(3, Long.bitCount(chessboard.getOccupied()));
+    }
+
+    /**
+     * Tests that boards too large for bitboards still find pieces by
+     * space, and keep them up to date as they move and are captured
+     * @throws Exception
+     */
+    @Test
+    public void testAtLargeBoard() throws Exception {
+        ArrayList<Piece> pieces = new ArrayList<Piece>();
+        Piece largeQueen = new Queen(WHITE, 'j', 10);
+        Piece pawn = new Pawn(BLACK, 'j', 2);
+        pieces.add(largeQueen);
+        pieces.add(pawn);
+        Board largeBoard = new Board(pieces, 10, 10, 4);
+
+        assertEquals(largeQueen, largeBoard.at('j', 10));
+        assertEquals(true, largeBoard.isOpenVerticalPath('j', 2, largeQueen));
+
+        pawn.setIsCapturedTrue();
+        largeQueen.move('j', 2);
+        assertEquals(largeQueen, largeBoard.at('j', 2));
+        assertEquals(null, largeBoard.at('j', 10));
+
+        // revert the capture the same way Move.undo does
+        largeQueen.move('j', 10);
+        pawn.setIsCapturedFalse();
+        assertEquals(pawn, largeBoard.at('j', 2));
+        assertEquals(largeQueen, largeBoard.at('j', 10));
+    }
+
+    /**
+     * Tests that the attack lookups stop at the first piece in each
+     * direction, and find every piece attacking a space
+     * @throws Exception
+     */
+    @Test
+    public void testAttackers() throws Exception {
+        int d4 = chessboard.index('d', 4);
+        long queenAttacks = chessboard.queenAttacks(d4);
+        // the pawns on b4, d2 and b6 can be captured...
+        assertEquals(true, (queenAttacks & (1L << chessboard.index('b', 4))) != 0);
+        assertEquals(true, (queenAttacks & (1L << chessboard.index('d', 2))) != 0);
+        assertEquals(true, (queenAttacks & (1L << chessboard.index('b', 6))) != 0);
+        // ...but not jumped
+        assertEquals(false, (queenAttacks & (1L << chessboard.index('a', 4))) != 0);
+        assertEquals(false, (queenAttacks & (1L << chessboard.index('a', 7))) != 0);
+
+        // the queen and the pawn on b4 both attack c3
+        int c3 = chessboard.index('c', 3);
+        assertEquals(1L << d4, chessboard.attackers(c3, WHITE));
+        assertEquals(1L << chessboard.index('b', 4),
+                chessboard.attackers(c3, BLACK));
+    }
+
+    /**
+     * Tests that the board's piece lists only hold uncaptured pieces,
+     * keep their order when a capture is reverted, and follow the King
+     * @throws Exception
+     */
+    @Test
+    public void testPieceLists() throws Exception {
+        assertEquals(3, chessboard.pieceCount(BLACK, PAWN_TYPE_INDEX));
+        assertEquals(1, chessboard.pieceCount(WHITE, QUEEN_TYPE_INDEX));
+        assertEquals(null, chessboard.getKing(WHITE));
+        assertEquals(-1, chessboard.getKingIndex(WHITE));
+
+        Piece first = chessboard.getPiece(BLACK, PAWN_TYPE_INDEX, 0);
+        Piece second = chessboard.getPiece(BLACK, PAWN_TYPE_INDEX, 1);
+        Piece third = chessboard.getPiece(BLACK, PAWN_TYPE_INDEX, 2);
+
+        first.setIsCapturedTrue();
+        assertEquals(2, chessboard.pieceCount(BLACK, PAWN_TYPE_INDEX));
+        assertEquals(third, chessboard.getPiece(BLACK, PAWN_TYPE_INDEX, 0));
+        assertEquals(second, chessboard.getPiece(BLACK, PAWN_TYPE_INDEX, 1));
+
+        first.setIsCapturedFalse();
+        assertEquals(3, chessboard.pieceCount(BLACK, PAWN_TYPE_INDEX));
+        assertEquals(first, chessboard.getPiece(BLACK, PAWN_TYPE_INDEX, 0));
+        assertEquals(second, chessboard.getPiece(BLACK, PAWN_TYPE_INDEX, 1));
+        assertEquals(third, chessboard.getPiece(BLACK, PAWN_TYPE_INDEX, 2));
+
+        ArrayList<Piece> pieces = new ArrayList<Piece>();
+        Piece king = new King(WHITE, 'e', 1);
+        pieces.add(king);
+        chessboard.setPieces(pieces);
+        assertEquals(king, chessboard.getKing(WHITE));
+        king.move('e', 2);
+        assertEquals(chessboard.index('e', 2), chessboard.getKingIndex(WHITE));
+        king.setIsCapturedTrue();
+        assertEquals(null, chessboard.getKing(WHITE));
+    }
+
+    /**
+     * Tests that the attack maps follow pieces as they move and are
+     * captured, including the sliders which are blocked or unblocked
+     * @throws Exception
+     */
+    @Test
+    public void testAttackMaps() throws Exception {
+        int c3 = chessboard.index('c', 3);
+        int d1 = chessboard.index('d', 1);
+        int h8 = chessboard.index('h', 8);
+        assertEquals(1, chessboard.attackCount(c3, WHITE));
+        assertEquals(1, chessboard.attackCount(c3, BLACK));
+        assertEquals(true, chessboard.isAttacked(h8, WHITE));
+        // the pawn on d2 blocks the queen
+        assertEquals(false, chessboard.isAttacked(d1, WHITE));
+
+        chessboard.at('d', 2).setIsCapturedTrue();
+        queen.move('d', 2);
+        assertEquals(true, chessboard.isAttacked(d1, WHITE));
+        assertEquals(false, chessboard.isAttacked(h8, WHITE));
+        for (int i = 0; i < 64; i++) {
+            assertEquals(Long.bitCount(chessboard.attackers(i, WHITE)),
+                    chessboard.attackCount(i, WHITE));
+            assertEquals(Long.bitCount(chessboard.attackers(i, BLACK)),
+                    chessboard.attackCount(i, BLACK));
+        }
+    }
+
+    /**
+     * Tests that a board with more than 64 spaces counts attackers with
+     * multi-word bitsets, including sliders blocked further than the
+     * first word of the bitset
+     * @throws Exception
+     */
+    @Test
+    public void testWideBitboards() throws Exception {
+        ArrayList<Piece> pieces = new ArrayList<Piece>();
+        Pawn pawn = new Pawn(WHITE, 'e', 5);
+        pieces.add(new King(WHITE, 'j', 10));
+        pieces.add(pawn);
+        pieces.add(new King(BLACK, 'a', 5));
+        pieces.add(new Rook(BLACK, 'a', 10));
+        pieces.add(new Knight(BLACK, 'h', 9));
+        pieces.add(new Bishop(BLACK, 'a', 1));
+        pieces.add(new Duke(BLACK, 'j', 8));
+        Board board = new Board(pieces, 10, 10, 4);
+        assertEquals(null, board.getBitboards());
+        assertNotEquals(null, board.getWideBitboards());
+
+        // the pawn on e5 blocks the bishop
+        int j10 = board.index('j', 10);
+        assertEquals(3, board.attackCount(j10, BLACK));
+        assertEquals(true, board.isAttacked(board.index('e', 5), BLACK));
+        assertEquals(false, board.isAttacked(board.index('b', 5), WHITE));
+        assertEquals(false, board.isAttacked(board.index('i', 9), BLACK));
+        assertEquals(2, new Master(board).isCheck(WHITE));
+
+        pawn.setIsCapturedTrue();
+        assertEquals(4, board.attackCount(j10, BLACK));
+        assertEquals(true, board.isAttacked(board.index('i', 9), BLACK));
+    }
+
+    /**
+     * Test that boards with more files or ranks than a Square can hold
+     * are rejected, and that the largest allowed board still works
+     * @throws Exception
+     */
+    @Test
+    public void testDimensionLimit() throws Exception {
+        int[][] tooLarge = {{17, 17}, {17, 8}, {8, 17}};
+        for (int[] dimensions : tooLarge) {
+            boolean rejected = false;
+            try {
+                new Board(dimensions[0], dimensions[1], 4);
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            assertEquals(true, rejected);
+        }
+
+        ArrayList<Piece> pieces = new ArrayList<Piece>();
+        pieces.add(new King(WHITE, 'p', 16));
+        Board largest = new Board(pieces, 16, 16, 4);
+        assertEquals(pieces.get(0), largest.at('p', 16));
+    }
+}
@@ -0,0 +1,96 @@
+package com.zberman2.Tests;
+
+import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.Master;
+import com.zberman2.DataManager.MoveList;
+import com.zberman2.DataManager.StandardBoard;
+import com.zberman2.Engine.Evaluation;
+import com.zberman2.Pieces.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static com.zberman2.DataManager.Constants.*;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Class which tests the scores given by the Evaluation, and the worth
+ * the Board keeps up to date for it
+ */
+public class EvaluationTest {
+
+    /**
+     * Test that the worth of each side kept by the board matches the
+     * worth computed from scratch as moves are made and taken back,
+     * captures included, and that copies of the board keep it too
+     * @throws Exception
+     */
+    @Test
+    public void testIncrementalScore() throws Exception {
+        Master master = new Master(false);
+        Board board = master.getBoard();
+        Evaluation evaluation = new Evaluation();
+        assertEquals(0, evaluation.evaluate(board, WHITE));
+        int white = board.getScore(WHITE);
+        int black = board.getScore(BLACK);
+
+        Random random = new Random(2014);
+        MoveList moves = new MoveList();
+        int[] played = new int[40];
+        int plies = 0;
+        int color = WHITE;
+        while (plies < played.length) {
+            moves.clear();
+            master.moveList(color, moves);
+            if (moves.isEmpty()) break;
+            played[plies++] = moves.get(random.nextInt(moves.size()));
+            master.makeMove(played[plies - 1]);
+            assertEquals(board.computeScore(WHITE), board.getScore(WHITE));
+            assertEquals(board.computeScore(BLACK), board.getScore(BLACK));
+            color = 1 - color;
+        }
+
+        Board copy = board.copy();
+        assertEquals(board.getScore(WHITE), copy.getScore(WHITE));
+        assertEquals(board.getScore(BLACK), copy.getScore(BLACK));
+
+        while (plies > 0) {
+            master.undoMove(played[--plies]);
+            assertEquals(board.computeScore(WHITE), board.getScore(WHITE));
+            assertEquals(board.computeScore(BLACK), board.getScore(BLACK));
+        }
+        assertEquals(white, board.getScore(WHITE));
+        assertEquals(black, board.getScore(BLACK));
+    }
+
+    /**
+     * Test that changing the worth of the alternate pieces changes the
+     * score of a board already scored
+     * @throws Exception
+     */
+    @Test
+    public void testTunableValues() throws Exception {
+        ArrayList<Piece> pieces = new ArrayList<Piece>();
+        pieces.add(new King(WHITE, 'a', 1));
+        pieces.add(new Zack(WHITE, 'd', 4));
+        pieces.add(new Ghost(WHITE, 'e', 4));
+        pieces.add(new King(BLACK, 'h', 8));
+        pieces.add(new Duke(BLACK, 'd', 5));
+        Board board = new StandardBoard(pieces);
+
+        Evaluation evaluation = new Evaluation();
+        int score = evaluation.evaluate(board, WHITE);
+        assertEquals(-score, evaluation.evaluate(board, BLACK));
+
+        evaluation.setValue(ZACK_TYPE_INDEX, 1000);
+        assertEquals(score + 200, evaluation.evaluate(board, WHITE));
+        evaluation.setValue(GHOST_TYPE_INDEX, 300);
+        assertEquals(score + 150, evaluation.evaluate(board, WHITE));
+
+        // the Duke on d5 stands 3 spaces from the edge
+        evaluation.setCenterWeight(DUKE_TYPE_INDEX, 0);
+        assertEquals(score + 150 + 3 * Evaluation.DEFAULT_CENTER_WEIGHTS[
+                DUKE_TYPE_INDEX], evaluation.evaluate(board, WHITE));
+    }
+}
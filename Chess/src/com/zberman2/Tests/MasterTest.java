@@ -1,17 +1,22 @@
 package com.zberman2.Tests;
 
 import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.GameStatus;
 import com.zberman2.DataManager.Master;
+import com.zberman2.DataManager.Move;
+import com.zberman2.DataManager.MoveList;
+import com.zberman2.DataManager.Moves;
 import com.zberman2.DataManager.StandardBoard;
+import com.zberman2.DataManager.Square;
 import com.zberman2.Pieces.*;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
 
-import static com.zberman2.DataManager.Constants.BLACK;
-import static com.zberman2.DataManager.Constants.WHITE;
+import static com.zberman2.DataManager.Constants.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 /**
  * Class which tests the functionality of the Master class
@@ -168,9 +173,187 @@ public class MasterTest {
         assertEquals(false, stalemateMaster.isStalemate(WHITE));
     }
 
+    /**
+     * Test that the game status finds check, checkmate and stalemate in
+     * one pass, and is only worked out again once the position changes
+     * @throws Exception
+     */
+    @Test
+    public void testGameStatus() throws Exception {
+        GameStatus status = checkmateMaster.gameStatus(BLACK);
+        assertEquals(1, status.getChecks());
+        assertEquals(true, status.isCheckmate());
+        assertEquals(true, status.isGameOver());
+
+        status = stalemateMaster.gameStatus(BLACK);
+        assertEquals(0, status.getChecks());
+        assertEquals(true, status.isStalemate());
+        assertEquals(true, status == stalemateMaster.gameStatus(BLACK));
+        assertEquals(true, stalemateMaster.gameStatus(WHITE).hasLegalMoves());
+
+        // the first White move lets the Black King or Pawn move again
+        MoveList moves = new MoveList();
+        stalemateMaster.moveList(WHITE, moves);
+        stalemateMaster.makeMove(moves.get(0));
+        assertEquals(false, stalemateMaster.gameStatus(BLACK).isStalemate());
+    }
+
+    /**
+     * Test that looking for a single legal move agrees with the full
+     * move list, in check and out of it
+     * @throws Exception
+     */
+    @Test
+    public void testAnyLegalMove() throws Exception {
+        assertEquals(false, checkmateMaster.anyLegalMove(BLACK));
+        assertEquals(true, checkmateMaster.anyLegalMove(WHITE));
+        assertEquals(false, stalemateMaster.anyLegalMove(BLACK));
+        assertEquals(true, stalemateMaster.anyLegalMove(WHITE));
+        assertEquals(true, leaveKingInCheckMaster.anyLegalMove(WHITE));
+        assertEquals(true, new Master(false).anyLegalMove(BLACK));
+    }
+
+    /**
+     * Test that only the moves out of check are generated: King moves,
+     * capturing the checker and blocking its line
+     * @throws Exception
+     */
+    @Test
+    public void testEvasionList() throws Exception {
+        ArrayList<Piece> pieces = new ArrayList<Piece>();
+        pieces.add(new King(WHITE, 'e', 1));
+        pieces.add(new Knight(WHITE, 'c', 3));
+        pieces.add(new Bishop(WHITE, 'b', 5));
+        pieces.add(new Pawn(WHITE, 'd', 2));
+        pieces.add(new King(BLACK, 'h', 8));
+        pieces.add(new Rook(BLACK, 'e', 8));
+        Board board = new StandardBoard(pieces);
+        Master evasionMaster = new Master(board);
+
+        MoveList evasions = new MoveList();
+        evasionMaster.evasionList(WHITE, evasions);
+        MoveList moves = new MoveList();
+        evasionMaster.moveList(WHITE, moves);
+        // Kd1, Kf1, Kf2, Ne2, Ne4, Be2 and Bxe8
+        assertEquals(7, evasions.size());
+        assertEquals(7, moves.size());
+
+        evasions.clear();
+        evasionMaster.evasionList(BLACK, evasions);
+        assertEquals(0, evasions.size());
+    }
+
     @Test
     public void testLegalMoves() throws Exception {
         legalMoveTestMaster.printBoard();
         assertEquals(true, knight.canMove('d', 2, legalMoveTestBoard));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that the position hash is updated by moves and captures,
+     * matches a hash computed from scratch, and is restored by undo
+     * @throws Exception
+     */
+    @Test
+    public void testHash() throws Exception {
+        Master standardMaster = new Master(true);
+        Board board = standardMaster.getBoard();
+        long startHash = board.getHash();
+        assertEquals(board.computeHash(), startHash);
+
+        Piece pawn = board.at('e', 2);
+        Move move = new Move(pawn, null, pawn.getPosition(),
+                Square.of('e', 4));
+        standardMaster.move(pawn, 'e', 4);
+        assertEquals(BLACK, board.getSideToMove());
+        assertNotEquals(startHash, board.getHash());
+        assertEquals(board.computeHash(), board.getHash());
+
+        move.undo();
+        assertEquals(WHITE, board.getSideToMove());
+        assertEquals(startHash, board.getHash());
+
+        // the same position reached by different move orders
+        // has the same hash
+        long checkmateHash = checkmateBoard.getHash();
+        Piece whiteQueen = checkmateBoard.at('e', 1);
+        checkmateMaster.move(whiteQueen, 'e', 2);
+        checkmateMaster.move(checkmateBoard.at('g', 1), 'h', 1);
+        checkmateMaster.move(whiteQueen, 'e', 1);
+        checkmateMaster.move(checkmateBoard.at('h', 1), 'g', 1);
+        assertEquals(checkmateHash, checkmateBoard.getHash());
+    }
+
+    /**
+     * Test that the packed move list holds the same moves as the
+     * list of (char, int) pairs, and that captures are flagged
+     * @throws Exception
+     */
+    @Test
+    public void testPackedMoveList() throws Exception {
+        MoveList moves = new MoveList();
+        legalMoveTestMaster.moveList(knight, moves);
+
+        // the knight must capture the queen checking the king
+        assertEquals(legalMoveTestMaster.moveList(knight).size(), moves.size());
+        assertEquals(1, moves.size());
+        int move = moves.get(0);
+        assertEquals(legalMoveTestBoard.index('b', 1), Moves.start(move));
+        assertEquals(legalMoveTestBoard.index('d', 2), Moves.end(move));
+        assertEquals(KNIGHT_TYPE_INDEX, Moves.movedType(move));
+        assertEquals(QUEEN_TYPE_INDEX, Moves.capturedType(move));
+        assertEquals(true, Moves.isCapture(move));
+        assertEquals("b1d2", Moves.toString(move, legalMoveTestBoard));
+
+        // lists can be cleared and refilled
+        moves.clear();
+        new Master(true).moveList(WHITE, moves);
+        assertEquals(20, moves.size());
+    }
+
+    /**
+     * Tests that the generated moves respect pins, and that a check by
+     * a Zack can only be answered by capturing it or moving the King
+     * @throws Exception
+     */
+    @Test
+    public void testPinsAndChecks() throws Exception {
+        ArrayList<Piece> pieces = new ArrayList<Piece>();
+        Bishop pinnedBishop = new Bishop(WHITE, 'e', 2);
+        Rook rook = new Rook(WHITE, 'd', 5);
+        pieces.add(new King(WHITE, 'e', 1));
+        pieces.add(pinnedBishop);
+        pieces.add(rook);
+        pieces.add(new Rook(BLACK, 'e', 8));
+        pieces.add(new King(BLACK, 'h', 8));
+        Board board = new StandardBoard(pieces);
+        Master pinMaster = new Master(board);
+
+        // the bishop can't leave the e file
+        MoveList moves = new MoveList();
+        pinMaster.moveList(WHITE, moves);
+        assertEquals(0, pinMaster.moveList(pinnedBishop).size());
+        for (int i = 0; i < moves.size(); i++) {
+            assertNotEquals(board.index('e', 2), Moves.start(moves.get(i)));
+        }
+
+        // the rook could block the zack on d2, but only capturing works
+        pieces.add(new Zack(BLACK, 'a', 5));
+        board.setPieces(pieces);
+        moves.clear();
+        pinMaster.moveList(WHITE, moves);
+        int rookMoves = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            if (Moves.start(moves.get(i)) == board.index('d', 5)) {
+                assertEquals("d5a5", Moves.toString(moves.get(i), board));
+                rookMoves++;
+            }
+        }
+        assertEquals(1, rookMoves);
+        int probed = 0;
+        for (Piece piece : pinMaster.pieceArrayList(WHITE)) {
+            probed += pinMaster.moveList(piece).size();
+        }
+        assertEquals(probed, moves.size());
+    }
+}
@@ -0,0 +1,71 @@
+package com.zberman2.Tests;
+
+import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.Master;
+import com.zberman2.DataManager.MoveList;
+import com.zberman2.DataManager.Moves;
+import com.zberman2.DataManager.StandardBoard;
+import com.zberman2.Engine.MoveIterator;
+import com.zberman2.Pieces.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static com.zberman2.DataManager.Constants.*;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Class which tests the order the MoveIterator hands out moves in
+ */
+public class MoveIteratorTest {
+
+    /**
+     * Test that the iterator hands out the same moves as moveList, with
+     * the hash move first, then the captures from the most valuable
+     * victim down, then the quiet moves
+     * @throws Exception
+     */
+    @Test
+    public void testOrder() throws Exception {
+        ArrayList<Piece> pieces = new ArrayList<Piece>();
+        pieces.add(new King(WHITE, 'a', 1));
+        pieces.add(new Rook(WHITE, 'd', 1));
+        pieces.add(new Pawn(WHITE, 'c', 4));
+        pieces.add(new King(BLACK, 'h', 8));
+        pieces.add(new Knight(BLACK, 'd', 5));
+        pieces.add(new Queen(BLACK, 'd', 7));
+        Board board = new StandardBoard(pieces);
+        Master master = new Master(board);
+
+        MoveList moves = new MoveList();
+        master.moveList(WHITE, moves);
+        int hashMove = Moves.NO_MOVE;
+        for (int i = 0; i < moves.size(); i++) {
+            if (Moves.toString(moves.get(i), board).equals("a1b1")) {
+                hashMove = moves.get(i);
+            }
+        }
+
+        MoveIterator iterator = new MoveIterator(master);
+        iterator.reset(WHITE, hashMove);
+        int[] handedOut = new int[moves.size()];
+        for (int i = 0; i < handedOut.length; i++) {
+            handedOut[i] = iterator.next();
+        }
+        assertEquals(Moves.NO_MOVE, iterator.next());
+
+        assertEquals("a1b1", Moves.toString(handedOut[0], board));
+        assertEquals("c4d5", Moves.toString(handedOut[1], board));
+        assertEquals("d1d5", Moves.toString(handedOut[2], board));
+        assertEquals(false, Moves.isCapture(handedOut[3]));
+
+        int[] expected = new int[moves.size()];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = moves.get(i);
+        }
+        Arrays.sort(expected);
+        Arrays.sort(handedOut);
+        assertEquals(true, Arrays.equals(expected, handedOut));
+    }
+}
@@ -0,0 +1,124 @@
+package com.zberman2.Tests;
+
+import com.zberman2.DataManager.Master;
+import com.zberman2.DataManager.MoveList;
+import com.zberman2.DataManager.MoveStack;
+import com.zberman2.Engine.ParallelPerft;
+import com.zberman2.Engine.Perft;
+import com.zberman2.Engine.PerftTable;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static com.zberman2.DataManager.Constants.WHITE;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Class which tests the move generator by counting positions with
+ * the Perft class
+ */
+public class PerftTest {
+
+    /**
+     * Test that the standard setup reaches the well known number of
+     * positions (there is no castling or en passant before depth 5)
+     * @throws Exception
+     */
+    @Test
+    public void testStandardPerft() throws Exception {
+        Perft perft = new Perft(new Master(true));
+        assertEquals(20, perft.perft(1));
+        assertEquals(400, perft.perft(2));
+        assertEquals(8902, perft.perft(3));
+    }
+
+    /**
+     * Test the number of positions the alternate setup reaches with its
+     * Dukes, Ghosts and Zacks
+     * @throws Exception
+     */
+    @Test
+    public void testAlternatePerft() throws Exception {
+        Perft perft = new Perft(new Master(false));
+        assertEquals(29, perft.perft(1));
+        assertEquals(756, perft.perft(2));
+        assertEquals(21875, perft.perft(3));
+    }
+
+    /**
+     * Test that divide adds up to the same count, and that the board
+     * is left as it was
+     * @throws Exception
+     */
+    @Test
+    public void testDivide() throws Exception {
+        Master master = new Master(true);
+        long hash = master.getBoard().getHash();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Perft perft = new Perft(master);
+
+        assertEquals(400, perft.divide(2, new PrintStream(output)));
+        assertEquals(true, output.toString().contains("e2e4: 20"));
+        assertEquals(hash, master.getBoard().getHash());
+        assertEquals(400, perft.perft(2));
+    }
+
+    /**
+     * Test that counting in parallel on board copies gives the same
+     * counts, and leaves the original board alone
+     * @throws Exception
+     */
+    @Test
+    public void testParallelPerft() throws Exception {
+        Master master = new Master(false);
+        long hash = master.getBoard().getHash();
+        ParallelPerft perft = new ParallelPerft(4);
+        assertEquals(21875, perft.perft(master, 3));
+        assertEquals(635118, perft.perft(master, 4));
+        assertEquals(197281, perft.perft(new Master(true), 4));
+        perft.shutdown();
+        assertEquals(hash, master.getBoard().getHash());
+    }
+
+    /**
+     * Test that caching counts in a table (even a tiny one which keeps
+     * overwriting its entries, or one shared between threads) gives
+     * the same counts
+     * @throws Exception
+     */
+    @Test
+    public void testPerftTable() throws Exception {
+        PerftTable table = new PerftTable(1);
+        assertEquals(65536, table.getSize());
+        Perft perft = new Perft(new Master(false), table);
+        assertEquals(635118, perft.perft(4));
+        assertEquals(635118, perft.perft(4));
+
+        table.clear();
+        ParallelPerft parallelPerft = new ParallelPerft(4, table);
+        assertEquals(197281, parallelPerft.perft(new Master(true), 4));
+        parallelPerft.shutdown();
+    }
+
+    /**
+     * Test that a move stack hands out the same emptied list every time
+     * a walk comes back to a ply, and grows when a walk goes deeper
+     * @throws Exception
+     */
+    @Test
+    public void testMoveStack() throws Exception {
+        MoveStack stack = new MoveStack(2);
+        assertEquals(2, stack.getDepth());
+        MoveList moves = stack.get(1);
+        new Master(true).moveList(WHITE, moves);
+        assertEquals(20, moves.size());
+
+        assertEquals(true, stack.get(1) == moves);
+        assertEquals(0, moves.size());
+        assertEquals(true, stack.get(0) != moves);
+        stack.get(4);
+        assertEquals(5, stack.getDepth());
+        assertEquals(true, stack.get(1) == moves);
+    }
+}
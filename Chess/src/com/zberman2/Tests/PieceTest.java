@@ -1,6 +1,9 @@
 package com.zberman2.Tests;
 
 import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.Master;
+import com.zberman2.DataManager.MoveList;
+import com.zberman2.DataManager.Square;
 import com.zberman2.DataManager.StandardBoard;
 import com.zberman2.Pieces.Pawn;
 import com.zberman2.Pieces.Piece;
@@ -9,6 +12,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 
 import static com.zberman2.DataManager.Constants.BLACK;
 import static com.zberman2.DataManager.Constants.WHITE;
@@ -136,4 +140,35 @@ public class PieceTest {
         // now false because the queen has been captured
         assertEquals(false, piece.isAt(piece.getFile(), piece.getRank()));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that the spaces each piece enumerates from its pattern of
+     * motion are exactly the spaces canMove accepts, on the fixture
+     * board and on the alternate starting board with its fairy pieces
+     * @throws Exception
+     */
+    @Test
+    public void testAddTargets() throws Exception {
+        Board alternateBoard = new Master(false).getBoard();
+        for (Board board : new Board[] {chessboard, alternateBoard}) {
+            for (Piece boardPiece : board.getPieces()) {
+                HashSet<Integer> scanned = new HashSet<Integer>();
+                for (char file = 'a'; file <= 'h'; file++) {
+                    for (int rank = 1; rank <= 8; rank++) {
+                        if (boardPiece.canMove(file, rank, board)) {
+                            scanned.add(Square.of(file, rank));
+                        }
+                    }
+                }
+                MoveList targets = new MoveList();
+                boardPiece.addTargets(board, targets);
+                HashSet<Integer> enumerated = new HashSet<Integer>();
+                for (int i = 0; i < targets.size(); i++) {
+                    enumerated.add(targets.get(i));
+                }
+                assertEquals(scanned.size(), targets.size());
+                assertEquals(scanned, enumerated);
+            }
+        }
+    }
+}
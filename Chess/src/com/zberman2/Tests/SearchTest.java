@@ -0,0 +1,155 @@
+package com.zberman2.Tests;
+
+import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.Master;
+import com.zberman2.DataManager.Moves;
+import com.zberman2.DataManager.StandardBoard;
+import com.zberman2.Engine.Evaluation;
+import com.zberman2.Engine.ParallelSearch;
+import com.zberman2.Engine.Search;
+import com.zberman2.Engine.TranspositionTable;
+import com.zberman2.Pieces.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static com.zberman2.DataManager.Constants.*;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Class which tests that the Search class finds good moves
+ */
+public class SearchTest {
+
+    /**
+     * Test that the search finds a mate in one, and scores it as a mate
+     * @throws Exception
+     */
+    @Test
+    public void testMateInOne() throws Exception {
+        ArrayList<Piece> pieces = new ArrayList<Piece>();
+        pieces.add(new King(WHITE, 'g', 6));
+        pieces.add(new Rook(WHITE, 'a', 1));
+        pieces.add(new King(BLACK, 'h', 8));
+        Board board = new StandardBoard(pieces);
+        long hash = board.getHash();
+
+        Search search = new Search(new Master(board));
+        int move = search.findMove(WHITE, 10000, 4);
+        assertEquals("a1a8", Moves.toString(move, board));
+        assertEquals(Search.MATE - 1, search.getScore());
+        assertEquals(hash, board.getHash());
+
+        // searching for the other side leaves the side to move as it was
+        search.findMove(BLACK, 10000, 2);
+        assertEquals(WHITE, board.getSideToMove());
+        assertEquals(hash, board.getHash());
+    }
+
+    /**
+     * Test that the search takes a Queen left unprotected, and that a
+     * side with no moves gets no move back
+     * @throws Exception
+     */
+    @Test
+    public void testWinsMaterial() throws Exception {
+        ArrayList<Piece> pieces = new ArrayList<Piece>();
+        pieces.add(new King(WHITE, 'a', 1));
+        pieces.add(new Rook(WHITE, 'd', 1));
+        pieces.add(new King(BLACK, 'h', 8));
+        pieces.add(new Queen(BLACK, 'd', 5));
+        pieces.add(new Pawn(BLACK, 'h', 7));
+        Board board = new StandardBoard(pieces);
+
+        Search search = new Search(new Master(board));
+        int move = search.findMove(WHITE, 10000, 3);
+        assertEquals("d1d5", Moves.toString(move, board));
+        assertEquals(3, search.getCompletedDepth());
+
+        ArrayList<Piece> mated = new ArrayList<Piece>();
+        mated.add(new King(BLACK, 'g', 1));
+        mated.add(new King(WHITE, 'g', 3));
+        mated.add(new Queen(WHITE, 'e', 1));
+        Search matedSearch = new Search(new Master(new StandardBoard(mated)));
+        assertEquals(Moves.NO_MOVE, matedSearch.findMove(BLACK, 1000));
+    }
+
+    /**
+     * Test that a search only one ply deep still sees a capture being
+     * taken back, and so doesn't give up its Queen for a Knight
+     * @throws Exception
+     */
+    @Test
+    public void testQuiescence() throws Exception {
+        ArrayList<Piece> pieces = new ArrayList<Piece>();
+        pieces.add(new King(WHITE, 'a', 1));
+        pieces.add(new Queen(WHITE, 'd', 1));
+        pieces.add(new King(BLACK, 'h', 8));
+        pieces.add(new Knight(BLACK, 'd', 5));
+        pieces.add(new Pawn(BLACK, 'e', 6));
+        Board board = new StandardBoard(pieces);
+
+        Search search = new Search(new Master(board));
+        int move = search.findMove(WHITE, 10000, 1);
+        assertEquals(false, Moves.toString(move, board).equals("d1d5"));
+        // the Queen against the Knight and Pawn, give or take where
+        // the pieces stand
+        assertEquals(true, Math.abs(search.getScore() - (900 - 300 - 100)) < 100);
+    }
+
+    /**
+     * Test that the search stops within its time budget, and still
+     * finds a move
+     * @throws Exception
+     */
+    @Test
+    public void testTimeBudget() throws Exception {
+        Master master = new Master(false);
+        Search search = new Search(master);
+        long start = System.currentTimeMillis();
+        int move = search.findMove(WHITE, 200);
+        assertEquals(true, System.currentTimeMillis() - start < 1000);
+        assertEquals(true, move != Moves.NO_MOVE);
+        assertEquals(true, search.getCompletedDepth() >= 1);
+    }
+
+    /**
+     * Test that several threads sharing a table still find a mate in
+     * one, without changing the board they were given
+     * @throws Exception
+     */
+    @Test
+    public void testParallelSearch() throws Exception {
+        ArrayList<Piece> pieces = new ArrayList<Piece>();
+        pieces.add(new King(WHITE, 'g', 6));
+        pieces.add(new Rook(WHITE, 'a', 1));
+        pieces.add(new King(BLACK, 'h', 8));
+        Board board = new StandardBoard(pieces);
+        long hash = board.getHash();
+
+        ParallelSearch search = new ParallelSearch(4, new Evaluation(),
+                new TranspositionTable(Search.DEFAULT_HASH_MEGABYTES));
+        int move = search.findMove(new Master(board), WHITE, 10000, 4);
+        assertEquals("a1a8", Moves.toString(move, board));
+        assertEquals(Search.MATE - 1, search.getScore());
+        assertEquals(hash, board.getHash());
+        assertEquals(true, search.getNodes() > 0);
+    }
+
+    /**
+     * Test that a search on several threads starts one new generation
+     * of the table it shares, not one per thread
+     * @throws Exception
+     */
+    @Test
+    public void testParallelSearchGeneration() throws Exception {
+        TranspositionTable table =
+                new TranspositionTable(Search.DEFAULT_HASH_MEGABYTES);
+        ParallelSearch search = new ParallelSearch(4, new Evaluation(), table);
+        int generation = table.getGeneration();
+        search.findMove(new Master(true), WHITE, 200, 3);
+        assertEquals(generation + 1, table.getGeneration());
+        search.findMove(new Master(true), WHITE, 200, 3);
+        assertEquals(generation + 2, table.getGeneration());
+    }
+}
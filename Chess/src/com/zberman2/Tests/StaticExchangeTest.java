@@ -0,0 +1,117 @@
+package com.zberman2.Tests;
+
+import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.Master;
+import com.zberman2.DataManager.MoveList;
+import com.zberman2.DataManager.Moves;
+import com.zberman2.DataManager.StandardBoard;
+import com.zberman2.Engine.Evaluation;
+import com.zberman2.Engine.StaticExchange;
+import com.zberman2.Pieces.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static com.zberman2.DataManager.Constants.*;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Class which tests the material the StaticExchange finds captures win
+ */
+public class StaticExchangeTest {
+
+    /**
+     * Test exchanges among the classical pieces, including a Rook
+     * backing up another from behind it
+     * @throws Exception
+     */
+    @Test
+    public void testExchanges() throws Exception {
+        // Rook takes a Pawn defended by a Pawn
+        ArrayList<Piece> pieces = kings();
+        pieces.add(new Rook(WHITE, 'd', 1));
+        pieces.add(new Pawn(BLACK, 'd', 5));
+        pieces.add(new Pawn(BLACK, 'e', 6));
+        assertEquals(100 - 500, exchange(pieces, "d1d5"));
+
+        // Pawn takes a Knight defended by a Queen
+        pieces = kings();
+        pieces.add(new Pawn(WHITE, 'e', 4));
+        pieces.add(new Knight(BLACK, 'd', 5));
+        pieces.add(new Queen(BLACK, 'd', 8));
+        assertEquals(300 - 100, exchange(pieces, "e4d5"));
+
+        // doubled Rooks against one Rook win the Pawn
+        pieces = kings();
+        pieces.add(new Rook(WHITE, 'd', 1));
+        pieces.add(new Rook(WHITE, 'd', 2));
+        pieces.add(new Pawn(BLACK, 'd', 5));
+        pieces.add(new Rook(BLACK, 'd', 8));
+        assertEquals(100, exchange(pieces, "d2d5"));
+
+        // an undefended piece is simply won
+        pieces = kings();
+        pieces.add(new Knight(WHITE, 'c', 3));
+        pieces.add(new Bishop(BLACK, 'd', 5));
+        assertEquals(320, exchange(pieces, "c3d5"));
+    }
+
+    /**
+     * Test that the Ghost and the Zack defend pieces in an exchange,
+     * the Zack even from behind another piece
+     * @throws Exception
+     */
+    @Test
+    public void testAlternatePieces() throws Exception {
+        ArrayList<Piece> pieces = kings();
+        pieces.add(new Knight(WHITE, 'c', 3));
+        pieces.add(new Pawn(BLACK, 'd', 5));
+        pieces.add(new Ghost(BLACK, 'd', 7));
+        assertEquals(100 - 300, exchange(pieces, "c3d5"));
+
+        pieces = kings();
+        pieces.add(new Knight(WHITE, 'c', 3));
+        pieces.add(new Pawn(BLACK, 'd', 5));
+        pieces.add(new Pawn(BLACK, 'd', 6));
+        pieces.add(new Zack(BLACK, 'd', 7));
+        assertEquals(100 - 300, exchange(pieces, "c3d5"));
+
+        // the Zack is worth more than the Knight it would recapture
+        pieces = kings();
+        pieces.add(new Zack(WHITE, 'd', 1));
+        pieces.add(new Knight(BLACK, 'd', 5));
+        pieces.add(new Pawn(BLACK, 'e', 6));
+        assertEquals(300 - 800, exchange(pieces, "d1d5"));
+    }
+
+    /**
+     * Returns the two Kings, out of the way of the exchanges tested
+     * @return list holding the Kings
+     */
+    private ArrayList<Piece> kings() {
+        ArrayList<Piece> pieces = new ArrayList<Piece>();
+        pieces.add(new King(WHITE, 'a', 1));
+        pieces.add(new King(BLACK, 'h', 8));
+        return pieces;
+    }
+
+    /**
+     * Sets up pieces on a standard board and evaluates one of White's
+     * captures
+     * @param pieces pieces to set up
+     * @param capture the capture, in the notation of Moves.toString
+     * @return material the capture wins for White
+     */
+    private int exchange(ArrayList<Piece> pieces, String capture) {
+        Board board = new StandardBoard(pieces);
+        MoveList moves = new MoveList();
+        new Master(board).captureList(WHITE, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (Moves.toString(moves.get(i), board).equals(capture)) {
+                return new StaticExchange(board, new Evaluation())
+                        .evaluate(moves.get(i));
+            }
+        }
+        throw new IllegalArgumentException("No capture " + capture);
+    }
+}
@@ -0,0 +1,38 @@
+package com.zberman2.Tests;
+
+import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.Master;
+import com.zberman2.Game.TerminalWindowGame;
+import org.junit.Test;
+
+import static com.zberman2.DataManager.Constants.*;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Class which tests playing against the computer in a terminal window
+ * game
+ */
+public class TerminalWindowGameTest {
+
+    /**
+     * Test that the computer plays a move for its side (the mate in one
+     * White has in the alternate setup), and that undo takes it back
+     * @throws Exception
+     */
+    @Test
+    public void testComputerMove() throws Exception {
+        TerminalWindowGame game = new TerminalWindowGame(WHITE);
+        Master master = game.getMaster();
+        Board board = master.getBoard();
+        long hash = board.getHash();
+
+        game.playComputerMove();
+        assertEquals(true, board.getHash() != hash);
+        assertEquals(true, master.gameStatus(BLACK).isCheckmate());
+
+        // only one move was played, so only one is taken back
+        game.handlePieceInput("u", null);
+        assertEquals(hash, board.getHash());
+        assertEquals(false, master.gameStatus(BLACK).isCheckmate());
+    }
+}
@@ -0,0 +1,104 @@
+package com.zberman2.Tests;
+
+import com.zberman2.DataManager.Board;
+import com.zberman2.DataManager.Master;
+import com.zberman2.DataManager.Moves;
+import com.zberman2.DataManager.StandardBoard;
+import com.zberman2.Engine.Evaluation;
+import com.zberman2.Engine.Search;
+import com.zberman2.Engine.TranspositionTable;
+import com.zberman2.Pieces.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static com.zberman2.DataManager.Constants.*;
+import static com.zberman2.Engine.TranspositionTable.*;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Class which tests storing search results in a TranspositionTable
+ */
+public class TranspositionTableTest {
+
+    /**
+     * Test that an entry comes back as it was stored, including negative
+     * scores, and that other positions aren't found
+     * @throws Exception
+     */
+    @Test
+    public void testStoreAndProbe() throws Exception {
+        TranspositionTable table = new TranspositionTable(1);
+        assertEquals(65536, table.getSize());
+        int move = Moves.encode(12, 28, PAWN_TYPE_INDEX, Moves.NO_PIECE,
+                Moves.FIRST_MOVE_FLAG);
+        table.store(12345L, 7, LOWER_BOUND, -99990, move);
+
+        long entry = table.probe(12345L);
+        assertEquals(move, TranspositionTable.move(entry));
+        assertEquals(7, depth(entry));
+        assertEquals(LOWER_BOUND, bound(entry));
+        assertEquals(-99990, score(entry));
+        assertEquals(0, table.probe(54321L));
+
+        // storing without a move keeps the move already there
+        table.store(12345L, 8, EXACT, 25, Moves.NO_MOVE);
+        entry = table.probe(12345L);
+        assertEquals(move, TranspositionTable.move(entry));
+        assertEquals(25, score(entry));
+        table.clear();
+        assertEquals(0, table.probe(12345L));
+    }
+
+    /**
+     * Test that a full bucket gives up its shallowest entry, and that
+     * entries from earlier searches give way to newer ones
+     * @throws Exception
+     */
+    @Test
+    public void testReplacement() throws Exception {
+        TranspositionTable table = new TranspositionTable(1);
+        long stride = table.getSize(); // hashes which share a bucket
+        for (int i = 1; i <= 4; i++) {
+            table.store(i * stride, 10 + i, EXACT, i, Moves.NO_MOVE);
+        }
+        table.store(5 * stride, 3, EXACT, 5, Moves.NO_MOVE);
+        assertEquals(0, table.probe(stride));
+        assertEquals(12, depth(table.probe(2 * stride)));
+        assertEquals(3, depth(table.probe(5 * stride)));
+
+        // two searches later, the deep entries are worth less than a
+        // shallow new one
+        table.newSearch();
+        table.newSearch();
+        table.store(6 * stride, 1, EXACT, 6, Moves.NO_MOVE);
+        table.store(7 * stride, 1, EXACT, 7, Moves.NO_MOVE);
+        assertEquals(1, depth(table.probe(6 * stride)));
+        assertEquals(1, depth(table.probe(7 * stride)));
+        assertEquals(0, table.probe(2 * stride));
+        assertEquals(14, depth(table.probe(4 * stride)));
+    }
+
+    /**
+     * Test that a search sharing a table with an earlier one still finds
+     * the mate, and that the table remembers the mating move
+     * @throws Exception
+     */
+    @Test
+    public void testSearchWithTable() throws Exception {
+        ArrayList<Piece> pieces = new ArrayList<Piece>();
+        pieces.add(new King(WHITE, 'g', 6));
+        pieces.add(new Rook(WHITE, 'a', 1));
+        pieces.add(new King(BLACK, 'h', 8));
+        Board board = new StandardBoard(pieces);
+        TranspositionTable table = new TranspositionTable(1);
+        Search search = new Search(new Master(board), new Evaluation(), table);
+
+        int move = search.findMove(WHITE, 10000, 4);
+        assertEquals("a1a8", Moves.toString(move, board));
+        board.setSideToMove(WHITE);
+        assertEquals(move, TranspositionTable.move(table.probe(board.getHash())));
+        assertEquals(move, search.findMove(WHITE, 10000, 4));
+        assertEquals(Search.MATE - 1, search.getScore());
+    }
+}